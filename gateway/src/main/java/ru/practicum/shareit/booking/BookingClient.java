@@ -1,17 +1,23 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -19,44 +25,67 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         HttpComponentsClientHttpRequestFactory requestFactory,
+                         ObjectProvider<WebClient> shareitServerWebClient,
+                         Scheduler shareitServerScheduler) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                reactiveClient(shareitServerWebClient, serverUrl + API_PREFIX),
+                null,
+                shareitServerScheduler
         );
     }
 
-    public ResponseEntity<Object> createBooking(BookingRequestDto bookingRequestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> createBooking(BookingRequestDto bookingRequestDto, Long userId) {
         return post("", userId, bookingRequestDto);
     }
 
-    public ResponseEntity<Object> approveBookingByOwner(Long id, Boolean isApproved, Long userId) {
+    public Mono<ResponseEntity<Object>> approveBookingByOwner(Long id, Boolean isApproved, Long userId) {
         return patch("/" + id + "?approved={approved}", userId,
                 Collections.singletonMap("approved", String.valueOf(isApproved)));
     }
 
-    public ResponseEntity<Object> getBookingById(Long id, Long userId) {
+    public Mono<ResponseEntity<Object>> approveBookingsByOwner(BookingBatchRequestDto bookingBatchRequestDto,
+                                                               Boolean isApproved, Long userId) {
+        return patch("/batch?approved={approved}", userId,
+                Collections.singletonMap("approved", String.valueOf(isApproved)), bookingBatchRequestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingById(Long id, Long userId) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> getAllBookingsOfUser(BookingState bookingState, int from, int size, Long userId) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getAllBookingsOfUser(BookingState bookingState, int from, int size,
+                                                             String after, Long userId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", bookingState.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        String path = "?state={state}&from={from}&size={size}";
+        if (after != null) {
+            parameters.put("after", after);
+            path += "&after={after}";
+        }
+        return get(path, userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingsForItemsOfOwner(BookingState bookingState, int from, int size,
-                                                                Long userId) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getAllBookingsForItemsOfOwner(BookingState bookingState, int from, int size,
+                                                                      String after, Long userId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", bookingState.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        String path = "/owner?state={state}&from={from}&size={size}";
+        if (after != null) {
+            parameters.put("after", after);
+            path += "&after={after}";
+        }
+        return get(path, userId, parameters);
     }
 }
@@ -5,11 +5,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -24,44 +27,58 @@ public class BookingController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestBody @Valid BookingRequestDto bookingRequestDto,
-                                                @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        ResponseEntity<Object> createdBooking = bookingClient.createBooking(bookingRequestDto, userId);
+    public Mono<ResponseEntity<Object>> createBooking(@RequestBody @Valid BookingRequestDto bookingRequestDto,
+                                                      @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        Mono<ResponseEntity<Object>> createdBooking = bookingClient.createBooking(bookingRequestDto, userId);
         log.info("createBooking - request for booking by user with id {} of item with id {} was received.",
                 userId, bookingRequestDto.getItemId());
         return createdBooking;
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveBookingsByOwner(
+            @RequestBody @Valid BookingBatchRequestDto bookingBatchRequestDto,
+            @RequestParam(value = "approved") Boolean isApproved,
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        Mono<ResponseEntity<Object>> results = bookingClient.approveBookingsByOwner(bookingBatchRequestDto, isApproved,
+                userId);
+        log.info("approveBookingsByOwner - request by owner {} was received for {} bookings.", userId,
+                bookingBatchRequestDto.getIds().size());
+        return results;
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBookingByOwner(@PathVariable(value = "bookingId") Long id,
-                                                        @RequestParam(value = "approved") Boolean isApproved,
-                                                        @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> approveBookingByOwner(@PathVariable(value = "bookingId") Long id,
+                                                              @RequestParam(value = "approved") Boolean isApproved,
+                                                              @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
         return bookingClient.approveBookingByOwner(id, isApproved, userId);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@PathVariable(value = "bookingId") Long id,
-                                                 @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getBookingById(@PathVariable(value = "bookingId") Long id,
+                                                       @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
         return bookingClient.getBookingById(id, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsOfUser(
+    public Mono<ResponseEntity<Object>> getAllBookingsOfUser(
             @RequestParam(value = "state", defaultValue = "ALL") String state,
             @RequestParam(value = "from", defaultValue = "0") @Min(0) int from,
             @RequestParam(value = "size", defaultValue = "10") @Min(1) int size,
+            @RequestParam(value = "after", required = false) @Pattern(regexp = "[A-Za-z0-9_-]{1,128}") String after,
             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
         BookingState bookingState = BookingState.findByState(state);
-        return bookingClient.getAllBookingsOfUser(bookingState, from, size, userId);
+        return bookingClient.getAllBookingsOfUser(bookingState, from, size, after, userId);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingsForItemsOfOwner(
+    public Mono<ResponseEntity<Object>> getAllBookingsForItemsOfOwner(
             @RequestParam(value = "state", defaultValue = "ALL") String state,
             @RequestParam(value = "from", defaultValue = "0") @Min(0) int from,
             @RequestParam(value = "size", defaultValue = "10") @Min(1) int size,
+            @RequestParam(value = "after", required = false) @Pattern(regexp = "[A-Za-z0-9_-]{1,128}") String after,
             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
         BookingState bookingState = BookingState.findByState(state);
-        return bookingClient.getAllBookingsForItemsOfOwner(bookingState, from, size, userId);
+        return bookingClient.getAllBookingsForItemsOfOwner(bookingState, from, size, after, userId);
     }
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookingBatchRequestDto {
+    @NotEmpty(message = "Список id бронирований не может быть пустым.")
+    @Size(max = 1000, message = "За один запрос можно изменить статус не более 1000 бронирований.")
+    private List<@NotNull @Positive(message = "ID должно быть положительным числом.") Long> ids;
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(value = "shareit-server.reactive.enabled", havingValue = "true")
+public class ReactiveClientConfig {
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(
+            @Value("${shareit-server.http.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.http.max-pending-acquires:50000}") int maxPendingAcquires,
+            @Value("${shareit-server.http.connection-request-timeout:1000}") long connectionRequestTimeout,
+            @Value("${shareit-server.http.keep-alive:30000}") long keepAlive,
+            @Value("${shareit-server.http.connection-time-to-live:300000}") long connectionTimeToLive) {
+        return ConnectionProvider.builder(HttpClientConfig.POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(Duration.ofMillis(connectionRequestTimeout))
+                .maxIdleTime(Duration.ofMillis(keepAlive))
+                .maxLifeTime(Duration.ofMillis(connectionTimeToLive))
+                .evictInBackground(Duration.ofMillis(keepAlive))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient shareitServerWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider shareitServerConnectionProvider,
+            @Value("${shareit-server.http.connect-timeout:2000}") int connectTimeout,
+            @Value("${shareit-server.http.socket-timeout:30000}") long socketTimeout) {
+        HttpClient httpClient = HttpClient.create(shareitServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(socketTimeout));
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ServerResponseCache {
+    private static final String MAX_AGE = "max-age=";
+
+    private final Cache<String, Map<String, CachedResponse>> responses;
+    private final Clock clock;
+
+    @Autowired
+    public ServerResponseCache(@Value("${shareit-server.cache.max-size:10000}") long maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    ServerResponseCache(long maxSize, Clock clock) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.clock = clock;
+    }
+
+    @Nullable
+    public CachedResponse get(String uri, @Nullable Long userId) {
+        Map<String, CachedResponse> variants = responses.getIfPresent(uri);
+        return variants != null ? variants.get(variantKey(userId)) : null;
+    }
+
+    public ResponseEntity<Object> store(String uri, @Nullable Long userId, @Nullable CachedResponse cached,
+                                        ResponseEntity<Object> response) {
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            HttpHeaders headers = response.getHeaders().getCacheControl() != null
+                    ? response.getHeaders() : cached.getResponse().getHeaders();
+            put(uri, userId, new CachedResponse(cached.getResponse(), freshUntil(headers)));
+            return cached.getResponse();
+        }
+        if (isStorable(response)) {
+            put(uri, userId, new CachedResponse(response, freshUntil(response.getHeaders())));
+        } else {
+            Map<String, CachedResponse> variants = responses.getIfPresent(uri);
+            if (variants != null) {
+                variants.remove(variantKey(userId));
+            }
+        }
+        return response;
+    }
+
+    public void evict(String uri) {
+        responses.invalidate(uri);
+    }
+
+    private void put(String uri, @Nullable Long userId, CachedResponse cachedResponse) {
+        responses.get(uri, key -> new ConcurrentHashMap<>()).put(variantKey(userId), cachedResponse);
+    }
+
+    private static String variantKey(@Nullable Long userId) {
+        return userId != null ? userId.toString() : "";
+    }
+
+    private boolean isStorable(ResponseEntity<Object> response) {
+        String cacheControl = response.getHeaders().getCacheControl();
+        return response.getStatusCode() == HttpStatus.OK
+                && response.getHeaders().getETag() != null
+                && (cacheControl == null || !cacheControl.contains("no-store"));
+    }
+
+    private Instant freshUntil(HttpHeaders headers) {
+        Instant now = clock.instant();
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null || cacheControl.contains("no-cache")) {
+            return now;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String trimmed = directive.trim();
+            if (trimmed.startsWith(MAX_AGE)) {
+                try {
+                    return now.plusSeconds(Long.parseLong(trimmed.substring(MAX_AGE.length())));
+                } catch (NumberFormatException e) {
+                    return now;
+                }
+            }
+        }
+        return now;
+    }
+
+    @Getter
+    public class CachedResponse {
+        private final ResponseEntity<Object> response;
+        private final Instant freshUntil;
+
+        CachedResponse(ResponseEntity<Object> response, Instant freshUntil) {
+            this.response = response;
+            this.freshUntil = freshUntil;
+        }
+
+        public String getETag() {
+            return response.getHeaders().getETag();
+        }
+
+        public boolean isFresh() {
+            return clock.instant().isBefore(freshUntil);
+        }
+    }
+}
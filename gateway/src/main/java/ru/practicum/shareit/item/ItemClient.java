@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -7,13 +8,20 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.validation.OnCreate;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -22,46 +30,79 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory requestFactory,
+                      ObjectProvider<WebClient> shareitServerWebClient,
+                      ServerResponseCache responseCache,
+                      Scheduler shareitServerScheduler) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                reactiveClient(shareitServerWebClient, serverUrl + API_PREFIX),
+                responseCache,
+                shareitServerScheduler
         );
     }
 
     @Validated(OnCreate.class)
-    public ResponseEntity<Object> createItem(@Valid ItemRequestDto itemRequestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> createItem(@Valid ItemRequestDto itemRequestDto, Long userId) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> updateItem(ItemRequestDto itemRequestDto, Long id, Long userId) {
-        return patch("/" + id, userId, itemRequestDto);
+    @Validated(OnCreate.class)
+    public Mono<ResponseEntity<Object>> createItems(@Valid ItemBatchRequestDto itemBatchRequestDto, Long userId) {
+        return post("/batch", userId, itemBatchRequestDto);
     }
 
-    public ResponseEntity<Object> getItemById(Long id, Long userId) {
-        return get("/" + id, userId);
+    public Mono<ResponseEntity<Object>> updateItem(ItemRequestDto itemRequestDto, Long id, Long userId) {
+        return evictAfter("/" + id, patch("/" + id, userId, itemRequestDto));
     }
 
-    public ResponseEntity<Object> getAllItemsOfOwner(int from, int size, Long userId) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getItemById(Long id, Long userId) {
+        return getRevalidated("/" + id, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllItemsOfOwner(int from, int size, Long after, Long userId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        String path = "?from={from}&size={size}";
+        if (after != null) {
+            parameters.put("after", after);
+            path += "&after={after}";
+        }
+        return get(path, userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItemsByText(String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItemAvailability(Long id, LocalDateTime from, LocalDateTime to,
+                                                            Long userId) {
         Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + id + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchItemsByText(String text, int from, int size, LocalDateTime start,
+                                                          LocalDateTime end) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size,
                 "text", text
-        );
-        return get("/search?from={from}&size={size}&text={text}", parameters);
+        ));
+        String path = "/search?from={from}&size={size}&text={text}";
+        if (start != null && end != null) {
+            parameters.put("start", start);
+            parameters.put("end", end);
+            path += "&start={start}&end={end}";
+        }
+        return get(path, parameters);
     }
 
-    public ResponseEntity<Object> createComment(CommentDto commentDto, Long id, Long userId) {
-        return post("/" + id + "/comment", userId, commentDto);
+    public Mono<ResponseEntity<Object>> createComment(CommentDto commentDto, Long id, Long userId) {
+        return evictAfter("/" + id, post("/" + id + "/comment", userId, commentDto));
     }
 }
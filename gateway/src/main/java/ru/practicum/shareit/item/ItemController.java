@@ -3,13 +3,17 @@ package ru.practicum.shareit.item;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/items")
@@ -24,49 +28,81 @@ public class ItemController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestBody @Valid ItemRequestDto itemRequestDto,
-                                             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        ResponseEntity<Object> createdItem = itemClient.createItem(itemRequestDto, userId);
+    public Mono<ResponseEntity<Object>> createItem(@RequestBody @Valid ItemRequestDto itemRequestDto,
+                                                   @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        Mono<ResponseEntity<Object>> createdItem = itemClient.createItem(itemRequestDto, userId);
         log.info("createItem - request was received for item \"{}\".", itemRequestDto.getName());
         return createdItem;
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createItems(@RequestBody @Valid ItemBatchRequestDto itemBatchRequestDto,
+                                                    @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        Mono<ResponseEntity<Object>> createdItems = itemClient.createItems(itemBatchRequestDto, userId);
+        log.info("createItems - request by user {} was received for {} items.", userId,
+                itemBatchRequestDto.getItems().size());
+        return createdItems;
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestBody @Valid ItemRequestDto itemRequestDto,
-                                             @PathVariable(value = "itemId") Long id,
-                                             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        ResponseEntity<Object> updatedItem = itemClient.updateItem(itemRequestDto, id, userId);
+    public Mono<ResponseEntity<Object>> updateItem(@RequestBody @Valid ItemRequestDto itemRequestDto,
+                                                   @PathVariable(value = "itemId") Long id,
+                                                   @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        Mono<ResponseEntity<Object>> updatedItem = itemClient.updateItem(itemRequestDto, id, userId);
         log.info("updateItem - request was received for item \"{}\" with id {}.", itemRequestDto.getName(), id);
         return updatedItem;
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable(value = "itemId") Long id,
-                                              @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(@PathVariable(value = "itemId") Long id,
+                                                    @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
         return itemClient.getItemById(id, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemsOfOwner(
+    public Mono<ResponseEntity<Object>> getAllItemsOfOwner(
             @RequestParam(value = "from", defaultValue = "0") @Min(0) int from,
             @RequestParam(value = "size", defaultValue = "10") @Min(1) int size,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        return itemClient.getAllItemsOfOwner(from, size, after, userId);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(
+            @PathVariable(value = "itemId") Long id,
+            @RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        return itemClient.getAllItemsOfOwner(from, size, userId);
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Конец периода должен быть позже его начала.");
+        }
+        return itemClient.getItemAvailability(id, from, to, userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItemsByText(
+    public Mono<ResponseEntity<Object>> searchItemsByText(
             @RequestParam(value = "from", defaultValue = "0") @Min(0) int from,
             @RequestParam(value = "size", defaultValue = "10") @Min(1) int size,
-            @RequestParam(value = "text") String text) {
-        return itemClient.searchItemsByText(text, from, size);
+            @RequestParam(value = "text") String text,
+            @RequestParam(value = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(value = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if ((start == null) != (end == null)) {
+            throw new IllegalArgumentException("Необходимо указать начало и конец периода.");
+        }
+        if (start != null && !end.isAfter(start)) {
+            throw new IllegalArgumentException("Конец периода должен быть позже его начала.");
+        }
+        return itemClient.searchItemsByText(text, from, size, start, end);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestBody @Valid CommentDto commentDto,
-                                                @PathVariable(value = "itemId") Long id,
-                                                @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        ResponseEntity<Object> createdComment = itemClient.createComment(commentDto, id, userId);
+    public Mono<ResponseEntity<Object>> createComment(@RequestBody @Valid CommentDto commentDto,
+                                                      @PathVariable(value = "itemId") Long id,
+                                                      @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        Mono<ResponseEntity<Object>> createdComment = itemClient.createComment(commentDto, id, userId);
         log.info("createComment - request by user {} was received for comment to item {}.", userId, id);
         return createdComment;
     }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ItemBatchRequestDto {
+    @NotEmpty(message = "Список вещей не может быть пустым.")
+    @Size(max = 1000, message = "За один запрос можно создать не более 1000 вещей.")
+    private List<@NotNull @Valid ItemRequestDto> items;
+}
@@ -1,15 +1,21 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfRequest;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -17,33 +23,45 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             HttpComponentsClientHttpRequestFactory requestFactory,
+                             ObjectProvider<WebClient> shareitServerWebClient,
+                             ServerResponseCache responseCache,
+                             Scheduler shareitServerScheduler) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                reactiveClient(shareitServerWebClient, serverUrl + API_PREFIX),
+                responseCache,
+                shareitServerScheduler
         );
     }
 
-    public ResponseEntity<Object> createItemRequest(ItemRequestDtoOfRequest itemRequestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> createItemRequest(ItemRequestDtoOfRequest itemRequestDto, Long userId) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllItemRequests(int from, int size, Long userId,
-                                                     boolean isItemRequestsOfApplicant) {
+    public Mono<ResponseEntity<Object>> getAllItemRequests(int from, int size, String after, Long userId,
+                                                           boolean isItemRequestsOfApplicant) {
         if (isItemRequestsOfApplicant) {
             return get("", userId);
         }
 
-        Map<String, Object> parameters = Map.of(
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        ));
+        String path = "/all?from={from}&size={size}";
+        if (after != null) {
+            parameters.put("after", after);
+            path += "&after={after}";
+        }
+        return get(path, userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(Long id, Long userId) {
-        return get("/" + id, userId);
+    public Mono<ResponseEntity<Object>> getItemRequestById(Long id, Long userId) {
+        return getRevalidated("/" + id, userId);
     }
 }
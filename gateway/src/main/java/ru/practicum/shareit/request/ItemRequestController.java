@@ -5,10 +5,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfRequest;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
 
 @RestController
 @Slf4j
@@ -23,30 +25,31 @@ public class ItemRequestController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@RequestBody @Valid ItemRequestDtoOfRequest itemRequestDto,
-                                                    @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        ResponseEntity<Object> createdItemRequest = itemRequestClient.createItemRequest(itemRequestDto, userId);
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestBody @Valid ItemRequestDtoOfRequest itemRequestDto,
+                                                          @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        Mono<ResponseEntity<Object>> createdItemRequest = itemRequestClient.createItemRequest(itemRequestDto, userId);
         log.info("createItemRequest - item request \"{}\" was received.", itemRequestDto.getDescription());
         return createdItemRequest;
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemRequestsOfApplicant(
+    public Mono<ResponseEntity<Object>> getAllItemRequestsOfApplicant(
             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        return itemRequestClient.getAllItemRequests(0, 0, userId, true);
+        return itemRequestClient.getAllItemRequests(0, 0, null, userId, true);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequests(
+    public Mono<ResponseEntity<Object>> getAllItemRequests(
             @RequestParam(value = "from", defaultValue = "0") @Min(0) int from,
             @RequestParam(value = "size", defaultValue = "10") @Min(1) int size,
+            @RequestParam(value = "after", required = false) @Pattern(regexp = "[A-Za-z0-9_-]{1,128}") String after,
             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        return itemRequestClient.getAllItemRequests(from, size, userId, false);
+        return itemRequestClient.getAllItemRequests(from, size, after, userId, false);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@PathVariable(value = "requestId") Long id,
-                                                     @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(@PathVariable(value = "requestId") Long id,
+                                                           @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
         return itemRequestClient.getItemRequestById(id, userId);
     }
 }
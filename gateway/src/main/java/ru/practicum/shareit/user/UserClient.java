@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -7,8 +8,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.validation.OnCreate;
 
@@ -20,33 +25,40 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory requestFactory,
+                      ObjectProvider<WebClient> shareitServerWebClient,
+                      ServerResponseCache responseCache,
+                      Scheduler shareitServerScheduler) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                reactiveClient(shareitServerWebClient, serverUrl + API_PREFIX),
+                responseCache,
+                shareitServerScheduler
         );
     }
 
     @Validated(OnCreate.class)
-    public ResponseEntity<Object> createUser(@Valid UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(@Valid UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> getUsersList() {
+    public Mono<ResponseEntity<Object>> getUsersList() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUserById(Long id) {
-        return get("/" + id);
+    public Mono<ResponseEntity<Object>> getUserById(Long id) {
+        return getRevalidated("/" + id, null);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto userDto, Long id) {
-        return patch("/" + id, userDto);
+    public Mono<ResponseEntity<Object>> updateUser(UserDto userDto, Long id) {
+        return evictAfter("/" + id, patch("/" + id, userDto));
     }
 
-    public void removeUser(Long id) {
-        delete("/" + id);
+    public Mono<ResponseEntity<Object>> removeUser(Long id) {
+        return evictAfter("/" + id, delete("/" + id));
     }
 }
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
@@ -20,33 +21,33 @@ public class UserController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserDto userDto) {
-        ResponseEntity<Object> createdUser = userClient.createUser(userDto);
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDto userDto) {
+        Mono<ResponseEntity<Object>> createdUser = userClient.createUser(userDto);
         log.info("createUser - request was received for user with email \"{}\" and name \"{}\".", userDto.getEmail(),
                 userDto.getName());
         return createdUser;
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return userClient.getUsersList();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUserById(@PathVariable(value = "id") Long id) {
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable(value = "id") Long id) {
         return userClient.getUserById(id);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@RequestBody @Valid UserDto userDto,
-                                             @PathVariable(value = "id", required = false) Long id) {
-        ResponseEntity<Object> updatedUser = userClient.updateUser(userDto, id);
+    public Mono<ResponseEntity<Object>> updateUser(@RequestBody @Valid UserDto userDto,
+                                                   @PathVariable(value = "id", required = false) Long id) {
+        Mono<ResponseEntity<Object>> updatedUser = userClient.updateUser(userDto, id);
         log.info("updateUser - request was received for user with email \"{}\" and id {}.", userDto.getEmail(), id);
         return updatedUser;
     }
 
     @DeleteMapping("/{id}")
-    public void removeUser(@PathVariable(value = "id") Long id) {
-        userClient.removeUser(id);
+    public Mono<ResponseEntity<Object>> removeUser(@PathVariable(value = "id") Long id) {
+        return userClient.removeUser(id);
     }
 }
@@ -17,6 +17,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -41,7 +42,7 @@ class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getAllBookingsForItemsOfOwner(any(), anyInt(), anyInt(), anyLong());
+        verify(bookingClient, never()).getAllBookingsForItemsOfOwner(any(), anyInt(), anyInt(), any(), anyLong());
     }
 
     @Test
@@ -58,7 +59,7 @@ class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getAllBookingsForItemsOfOwner(any(), anyInt(), anyInt(), anyLong());
+        verify(bookingClient, never()).getAllBookingsForItemsOfOwner(any(), anyInt(), anyInt(), any(), anyLong());
     }
 
     @Test
@@ -75,7 +76,7 @@ class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getAllBookingsOfUser(any(), anyInt(), anyInt(), anyLong());
+        verify(bookingClient, never()).getAllBookingsOfUser(any(), anyInt(), anyInt(), any(), anyLong());
     }
 
     @Test
@@ -92,6 +93,53 @@ class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getAllBookingsOfUser(any(), anyInt(), anyInt(), anyLong());
+        verify(bookingClient, never()).getAllBookingsOfUser(any(), anyInt(), anyInt(), any(), anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getAllBookingsOfUser_whenAfterIsPresent_thenAfterPassedToClient() {
+        String after = "MjAyMy0wMy0wMVQxMjowMCw1";
+
+        mvc.perform(get("/bookings")
+                        .param("state", "PAST")
+                        .param("size", "2")
+                        .param("after", after)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).getAllBookingsOfUser(BookingState.PAST, 0, 2, after, 1L);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllBookingsForItemsOfOwner_whenAfterIsNotServerCursor_thenResponseStatusBadRequest() {
+        mvc.perform(get("/bookings/owner")
+                        .param("state", "PAST")
+                        .param("size", "2")
+                        .param("after", "2023-03-01T12:00,5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).getAllBookingsForItemsOfOwner(any(), anyInt(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void approveBookingsByOwner_whenIdsAreEmpty_thenResponseStatusBadRequest() {
+        mvc.perform(patch("/bookings/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("approved", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).approveBookingsByOwner(any(), any(), anyLong());
+    }
+}
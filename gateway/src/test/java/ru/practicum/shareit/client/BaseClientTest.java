@@ -0,0 +1,285 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private static final String SERVER_URL = "http://localhost:9090/items";
+
+    private final RestTemplate restTemplate = restTemplate();
+
+    @Test
+    void get_whenBlockingMode_thenServerResponseRelayedThroughMono() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"id\": 1, \"name\": \"ball\"}", MediaType.APPLICATION_JSON));
+        BaseClient baseClient = new BaseClient(restTemplate);
+
+        ResponseEntity<Object> response = baseClient.get("/1", 1L).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(new String((byte[]) response.getBody()), equalTo("{\"id\": 1, \"name\": \"ball\"}"));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        server.verify();
+    }
+
+    @Test
+    void get_whenBlockingMode_thenExchangeRunsOnBlockingScheduler() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        AtomicReference<String> exchangeThread = new AtomicReference<>();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(request -> {
+                    exchangeThread.set(Thread.currentThread().getName());
+                    return withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON).createResponse(request);
+                });
+        Scheduler blockingScheduler = Schedulers.newSingle("shareit-server-test");
+        BaseClient baseClient = new BaseClient(restTemplate, null, null, blockingScheduler);
+
+        try {
+            baseClient.get("/1", 1L).block();
+        } finally {
+            blockingScheduler.dispose();
+        }
+
+        assertThat(exchangeThread.get(), startsWith("shareit-server-test"));
+        server.verify();
+    }
+
+    @Test
+    void get_whenBlockingModeAndServerSendsHopByHopHeaders_thenOnlyEndToEndHeadersRelayed() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive, X-Trace");
+        serverHeaders.set("Keep-Alive", "timeout=60");
+        serverHeaders.set("X-Trace", "abc");
+        serverHeaders.set(HttpHeaders.CONTENT_LENGTH, "9");
+        serverHeaders.set(HttpHeaders.VARY, "X-Sharer-User-Id");
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON).headers(serverHeaders));
+        BaseClient baseClient = new BaseClient(restTemplate);
+
+        ResponseEntity<Object> response = baseClient.get("/1", 1L).block();
+
+        assertThat(response.getHeaders().keySet(), containsInAnyOrder(HttpHeaders.CONTENT_TYPE, HttpHeaders.VARY));
+        assertThat(response.getHeaders().getVary(), equalTo(List.of("X-Sharer-User-Id")));
+    }
+
+    @Test
+    void get_whenBlockingModeAndServerRespondsWithError_thenErrorStatusAndBodyRelayed() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).body("{\"error\": \"not found\"}"));
+        BaseClient baseClient = new BaseClient(restTemplate);
+
+        ResponseEntity<Object> response = baseClient.get("/1", 1L).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(new String((byte[]) response.getBody()), equalTo("{\"error\": \"not found\"}"));
+    }
+
+    @Test
+    void getRevalidated_whenServerRespondsNotModified_thenCachedResponseRelayed() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON)
+                        .headers(eTagHeaders("\"0a1b2c\"", "no-cache")));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"0a1b2c\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(eTagHeaders("\"0a1b2c\"", "no-cache")));
+        BaseClient baseClient = new BaseClient(restTemplate, null, new ServerResponseCache(100));
+
+        ResponseEntity<Object> first = baseClient.getRevalidated("/1", 1L).block();
+        ResponseEntity<Object> second = baseClient.getRevalidated("/1", 1L).block();
+
+        assertThat(second.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(second.getHeaders().getETag(), equalTo("\"0a1b2c\""));
+        assertThat(second.getBody(), sameInstance(first.getBody()));
+        server.verify();
+    }
+
+    @Test
+    void getRevalidated_whenOtherUserRequestsSamePath_thenNoConditionalRequestSent() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"id\": 1, \"lastBooking\": {\"id\": 3}}", MediaType.APPLICATION_JSON)
+                        .headers(eTagHeaders("\"owner\"", "no-cache")));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON)
+                        .headers(eTagHeaders("\"booker\"", "no-cache")));
+        BaseClient baseClient = new BaseClient(restTemplate, null, new ServerResponseCache(100));
+
+        baseClient.getRevalidated("/1", 1L).block();
+        ResponseEntity<Object> response = baseClient.getRevalidated("/1", 2L).block();
+
+        assertThat(new String((byte[]) response.getBody()), equalTo("{\"id\": 1}"));
+        server.verify();
+    }
+
+    @Test
+    void getRevalidated_whenNoUserGiven_thenResponseCachedByServerUrlOnly() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(headerDoesNotExist("X-Sharer-User-Id"))
+                .andRespond(withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON)
+                        .headers(eTagHeaders("\"0a1b2c\"", "no-cache")));
+        ServerResponseCache responseCache = new ServerResponseCache(100);
+        BaseClient baseClient = new BaseClient(restTemplate, null, responseCache);
+
+        baseClient.getRevalidated("/1", null).block();
+
+        assertThat(responseCache.get(SERVER_URL + "/1", null).getETag(), equalTo("\"0a1b2c\""));
+        server.verify();
+    }
+
+    @Test
+    void evictAfter_whenResourcePatched_thenNextGetSentWithoutConditionalRequest() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON)
+                        .headers(eTagHeaders("\"v1\"", "max-age=60")));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\": 1, \"name\": \"ball\"}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\": 1, \"name\": \"ball\"}", MediaType.APPLICATION_JSON)
+                        .headers(eTagHeaders("\"v2\"", "max-age=60")));
+        BaseClient baseClient = new BaseClient(restTemplate, null, new ServerResponseCache(100));
+
+        baseClient.getRevalidated("/1", 1L).block();
+        baseClient.evictAfter("/1", baseClient.patch("/1", 1L, "{\"name\": \"ball\"}")).block();
+        ResponseEntity<Object> response = baseClient.getRevalidated("/1", 1L).block();
+
+        assertThat(response.getHeaders().getETag(), equalTo("\"v2\""));
+        server.verify();
+    }
+
+    @Test
+    void get_whenReactiveMode_thenServerResponseRelayedWithoutRestTemplate() {
+        WebClient webClient = webClient(request -> {
+            assertThat(request.url().toString(), equalTo(SERVER_URL + "?from=0&size=10"));
+            assertThat(request.headers().getFirst("X-Sharer-User-Id"), equalTo("1"));
+            return Mono.just(jsonResponse(HttpStatus.OK, "[{\"id\": 1}]"));
+        });
+        BaseClient baseClient = new BaseClient(restTemplate, webClient);
+
+        ResponseEntity<Object> response = baseClient
+                .get("?from={from}&size={size}", 1L, Map.of("from", 0, "size", 10)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(new String((byte[]) response.getBody()), equalTo("[{\"id\": 1}]"));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void post_whenReactiveModeAndServerRespondsWithError_thenErrorStatusAndBodyRelayed() {
+        WebClient webClient = webClient(request -> {
+            assertThat(request.method(), equalTo(HttpMethod.POST));
+            return Mono.just(jsonResponse(HttpStatus.CONFLICT, "{\"error\": \"conflict\"}"));
+        });
+        BaseClient baseClient = new BaseClient(restTemplate, webClient);
+
+        ResponseEntity<Object> response = baseClient.post("", 1L, Map.of("name", "ball")).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.CONFLICT));
+        assertThat(response.getBody(), instanceOf(byte[].class));
+        assertThat(new String((byte[]) response.getBody()), equalTo("{\"error\": \"conflict\"}"));
+    }
+
+    @Test
+    void get_whenReactiveModeAndManyRequestsInFlight_thenAllCompleteWithoutThreadPerRequest() {
+        int requests = 10_000;
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<String> responseThreads = ConcurrentHashMap.newKeySet();
+        WebClient webClient = webClient(request -> Mono.delay(Duration.ofSeconds(1))
+                .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .map(tick -> jsonResponse(HttpStatus.OK, "{\"id\": 1}"))
+                .doOnNext(response -> inFlight.decrementAndGet()));
+        BaseClient baseClient = new BaseClient(restTemplate, webClient);
+
+        Long completed = Flux.range(0, requests)
+                .flatMap(i -> baseClient.get("/1", 1L)
+                        .doOnNext(response -> responseThreads.add(Thread.currentThread().getName())), requests)
+                .filter(response -> response.getStatusCode() == HttpStatus.OK)
+                .count()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(completed, equalTo((long) requests));
+        assertThat(maxInFlight.get(), greaterThan(requests / 2));
+        assertThat(responseThreads.size(), lessThanOrEqualTo(Runtime.getRuntime().availableProcessors()));
+    }
+
+    private static HttpHeaders eTagHeaders(String eTag, String cacheControl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(cacheControl);
+        return headers;
+    }
+
+    private static RestTemplate restTemplate() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        return restTemplate;
+    }
+
+    private static WebClient webClient(ExchangeFunction exchangeFunction) {
+        return WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(SERVER_URL))
+                .exchangeFunction(exchangeFunction)
+                .build();
+    }
+
+    private static ClientResponse jsonResponse(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
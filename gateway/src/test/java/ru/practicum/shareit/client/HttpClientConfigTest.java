@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class HttpClientConfigTest {
+    private final HttpClientConfig httpClientConfig = new HttpClientConfig();
+
+    @Test
+    void shareitServerConnectionManager_whenLimitsGiven_thenPoolLimitsApplied() {
+        PoolingHttpClientConnectionManager connectionManager =
+                httpClientConfig.shareitServerConnectionManager(50, 20, 2000, 60000);
+
+        assertThat(connectionManager.getMaxTotal(), equalTo(50));
+        assertThat(connectionManager.getDefaultMaxPerRoute(), equalTo(20));
+        assertThat(connectionManager.getValidateAfterInactivity(), equalTo(2000));
+        connectionManager.close();
+    }
+
+    @Test
+    void shareitServerConnectionPoolMetrics_whenBound_thenPoolGaugesRegistered() {
+        PoolingHttpClientConnectionManager connectionManager =
+                httpClientConfig.shareitServerConnectionManager(50, 20, 2000, 60000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        httpClientConfig.shareitServerConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", HttpClientConfig.POOL_NAME).gauge().value(), equalTo(50.0));
+        assertThat(registry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", HttpClientConfig.POOL_NAME).gauge().value(), equalTo(20.0));
+        connectionManager.close();
+    }
+
+    @Test
+    void keepAliveStrategy_whenServerSendsNoKeepAlive_thenDefaultKeepAliveUsed() {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+
+        assertThat(HttpClientConfig.keepAliveStrategy(30000).getKeepAliveDuration(response, new BasicHttpContext()),
+                equalTo(30000L));
+    }
+
+    @Test
+    void keepAliveStrategy_whenServerSendsLongerKeepAlive_thenKeepAliveCapped() {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.addHeader("Keep-Alive", "timeout=600");
+
+        assertThat(HttpClientConfig.keepAliveStrategy(30000).getKeepAliveDuration(response, new BasicHttpContext()),
+                equalTo(30000L));
+    }
+
+    @Test
+    void keepAliveStrategy_whenServerSendsShorterKeepAlive_thenServerKeepAliveUsed() {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.addHeader("Keep-Alive", "timeout=5");
+
+        assertThat(HttpClientConfig.keepAliveStrategy(30000).getKeepAliveDuration(response, new BasicHttpContext()),
+                equalTo(5000L));
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class ServerResponseCacheTest {
+    private static final String URI = "http://localhost:9090/items/1";
+    private static final Long USER_ID = 1L;
+
+    private final MutableClock clock = new MutableClock();
+    private final ServerResponseCache responseCache = new ServerResponseCache(100, clock);
+
+    @Test
+    void store_whenResponseHasETagAndNoCache_thenStoredButNotFresh() {
+        ResponseEntity<Object> response = serverResponse("\"v1\"", "no-cache");
+
+        ResponseEntity<Object> relayed = responseCache.store(URI, USER_ID, null, response);
+
+        assertThat(relayed, sameInstance(response));
+        assertThat(responseCache.get(URI, USER_ID).getETag(), equalTo("\"v1\""));
+        assertThat(responseCache.get(URI, USER_ID).isFresh(), is(false));
+    }
+
+    @Test
+    void store_whenResponseHasMaxAge_thenFreshUntilMaxAgePasses() {
+        responseCache.store(URI, USER_ID, null, serverResponse("\"v1\"", "max-age=60"));
+
+        assertThat(responseCache.get(URI, USER_ID).isFresh(), is(true));
+
+        clock.advance(Duration.ofSeconds(61));
+
+        assertThat(responseCache.get(URI, USER_ID).isFresh(), is(false));
+    }
+
+    @Test
+    void store_whenServerRespondsNotModified_thenCachedResponseReturned() {
+        ResponseEntity<Object> response = serverResponse("\"v1\"", "no-cache");
+        responseCache.store(URI, USER_ID, null, response);
+
+        ResponseEntity<Object> relayed = responseCache.store(URI, USER_ID, responseCache.get(URI, USER_ID),
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"v1\"").build());
+
+        assertThat(relayed, sameInstance(response));
+        assertThat(responseCache.get(URI, USER_ID), notNullValue());
+    }
+
+    @Test
+    void store_whenResponseIsNoStoreOrHasNoETag_thenEntryInvalidated() {
+        responseCache.store(URI, USER_ID, null, serverResponse("\"v1\"", "no-cache"));
+
+        responseCache.store(URI, USER_ID, responseCache.get(URI, USER_ID), serverResponse("\"v2\"", "no-store"));
+
+        assertThat(responseCache.get(URI, USER_ID), nullValue());
+
+        responseCache.store(URI, USER_ID, null, ResponseEntity.ok().body((Object) new byte[0]));
+
+        assertThat(responseCache.get(URI, USER_ID), nullValue());
+    }
+
+    @Test
+    void store_whenServerRespondsNotFound_thenEntryInvalidated() {
+        responseCache.store(URI, USER_ID, null, serverResponse("\"v1\"", "no-cache"));
+
+        responseCache.store(URI, USER_ID, responseCache.get(URI, USER_ID), ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+
+        assertThat(responseCache.get(URI, USER_ID), nullValue());
+    }
+
+    @Test
+    void evict_whenResourceChanged_thenEntriesOfAllUsersRemoved() {
+        responseCache.store(URI, USER_ID, null, serverResponse("\"v1\"", "max-age=60"));
+        responseCache.store(URI, 2L, null, serverResponse("\"v2\"", "max-age=60"));
+        responseCache.store(URI + "0", USER_ID, null, serverResponse("\"v3\"", "max-age=60"));
+
+        responseCache.evict(URI);
+
+        assertThat(responseCache.get(URI, USER_ID), nullValue());
+        assertThat(responseCache.get(URI, 2L), nullValue());
+        assertThat(responseCache.get(URI + "0", USER_ID).getETag(), equalTo("\"v3\""));
+    }
+
+    private static ResponseEntity<Object> serverResponse(String eTag, String cacheControl) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header("Cache-Control", cacheControl)
+                .body("{\"id\": 1}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-10-18T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadModeBenchmark {
+    private static final int CONCURRENT_REQUESTS = 1_000;
+    private static final long SERVER_LATENCY_MILLIS = 50;
+    private static final byte[] USER_JSON = "{\"id\":1,\"name\":\"Fredie\",\"email\":\"jodelle_zajacr9jm@wonder.ed\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private HttpServer shareitServer;
+    private ConfigurableApplicationContext gateway;
+    private HttpClient httpClient;
+    private HttpRequest request;
+    private int peakThreads;
+    private long peakCommittedMemory;
+
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(CONCURRENT_REQUESTS));
+        shareitServer = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        shareitServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        shareitServer.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(SERVER_LATENCY_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER_JSON.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(USER_JSON);
+            }
+        });
+        shareitServer.start();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                "--shareit-server.url=http://localhost:" + shareitServer.getAddress().getPort(),
+                "--shareit-server.http.max-connections=" + CONCURRENT_REQUESTS,
+                "--shareit-server.http.max-connections-per-route=" + CONCURRENT_REQUESTS,
+                "--shareit-server.http.connection-request-timeout=30000",
+                "--shareit.virtual-threads.enabled=" + virtualThreads);
+
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:"
+                        + gateway.getEnvironment().getProperty("local.server.port") + "/users/1"))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nvirtualThreads=%s: peak platform threads %d, peak committed memory %d MB%n",
+                virtualThreads, peakThreads, peakCommittedMemory / (1024 * 1024));
+        gateway.close();
+        shareitServer.stop(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void getUserById() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CONCURRENT_REQUESTS];
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Unexpected status " + response.statusCode() + ": " + response.body());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        recordFootprint();
+    }
+
+    private void recordFootprint() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        peakThreads = Math.max(peakThreads, threads.getPeakThreadCount());
+        peakCommittedMemory = Math.max(peakCommittedMemory, memory.getHeapMemoryUsage().getCommitted()
+                + memory.getNonHeapMemoryUsage().getCommitted());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ThreadModeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class VirtualThreadConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    void virtualThreadConfig_whenEnabledInBlockingMode_thenCustomizerRegistered() {
+        contextRunner.withPropertyValues("shareit.virtual-threads.enabled=true",
+                        "shareit-server.reactive.enabled=false")
+                .run(context -> assertThat(context.containsBean("virtualThreadProtocolHandlerCustomizer"),
+                        equalTo(true)));
+    }
+
+    @Test
+    void virtualThreadConfig_whenEnabledInReactiveMode_thenCustomizerNotRegistered() {
+        contextRunner.withPropertyValues("shareit.virtual-threads.enabled=true",
+                        "shareit-server.reactive.enabled=true")
+                .run(context -> assertThat(context.containsBean("virtualThreadProtocolHandlerCustomizer"),
+                        equalTo(false)));
+    }
+
+    @Test
+    void virtualThreadConfig_whenPropertiesMissing_thenCustomizerNotRegistered() {
+        contextRunner.run(context -> assertThat(context.containsBean("virtualThreadProtocolHandlerCustomizer"),
+                equalTo(false)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void virtualThreadProtocolHandlerCustomizer_whenApplied_thenRequestsHandledOnVirtualThreads() throws Exception {
+        Http11NioProtocol protocolHandler = new Http11NioProtocol();
+        TomcatProtocolHandlerCustomizer<Http11NioProtocol> customizer =
+                (TomcatProtocolHandlerCustomizer<Http11NioProtocol>) new VirtualThreadConfig()
+                        .virtualThreadProtocolHandlerCustomizer();
+
+        customizer.customize(protocolHandler);
+
+        ExecutorService executor = (ExecutorService) protocolHandler.getExecutor();
+        CompletableFuture<Boolean> isVirtual = CompletableFuture.supplyAsync(
+                () -> Thread.currentThread().isVirtual(), executor);
+        assertThat(isVirtual.get(), equalTo(true));
+        executor.shutdown();
+    }
+}
@@ -7,15 +7,26 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -26,6 +37,45 @@ class ItemControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    @Test
+    @SneakyThrows
+    void getItemById_whenServerResponds_thenResponseRelayedAsynchronously() {
+        when(itemClient.getItemById(1L, 1L))
+                .thenReturn(Mono.just(ResponseEntity.ok(Map.of("id", 1, "name", "ball"))));
+
+        MvcResult mvcResult = mvc.perform(get("/items/{itemId}", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\": 1, \"name\": \"ball\"}"));
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemById_whenIfNoneMatchEqualsServerETag_thenResponseStatusNotModified() {
+        when(itemClient.getItemById(1L, 1L)).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag("\"0a1b2c\"")
+                .body((Object) "{\"id\": 1}".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult mvcResult = mvc.perform(get("/items/{itemId}", 1L)
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0a1b2c\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0a1b2c\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     @SneakyThrows
     void getAllItemsOfOwner_whenSizeIsNotPositive_thenResponseStatusBadRequest() {
@@ -37,7 +87,7 @@ class ItemControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(itemClient, never()).getAllItemsOfOwner(anyInt(), anyInt(), anyLong());
+        verify(itemClient, never()).getAllItemsOfOwner(anyInt(), anyInt(), any(), anyLong());
     }
 
     @Test
@@ -53,7 +103,7 @@ class ItemControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(itemClient, never()).searchItemsByText(any(), anyInt(), anyInt());
+        verify(itemClient, never()).searchItemsByText(any(), anyInt(), anyInt(), any(), any());
     }
 
     @Test
@@ -67,7 +117,7 @@ class ItemControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(itemClient, never()).getAllItemsOfOwner(anyInt(), anyInt(), anyLong());
+        verify(itemClient, never()).getAllItemsOfOwner(anyInt(), anyInt(), any(), anyLong());
     }
 
     @Test
@@ -83,6 +133,63 @@ class ItemControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(itemClient, never()).searchItemsByText(any(), anyInt(), anyInt());
+        verify(itemClient, never()).searchItemsByText(any(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability_whenPeriodEndIsNotAfterStart_thenResponseStatusBadRequest() {
+        mvc.perform(get("/items/{itemId}/availability", 1)
+                        .param("from", "2030-01-02T00:00:00")
+                        .param("to", "2030-01-01T00:00:00")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getItemAvailability(anyLong(), any(), any(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void searchItemsByText_whenOnlyStartOfPeriodGiven_thenResponseStatusBadRequest() {
+        mvc.perform(get("/items/search")
+                        .param("text", "mobile")
+                        .param("start", "2030-01-01T00:00:00")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).searchItemsByText(any(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void createItems_whenItemsAreEmpty_thenResponseStatusBadRequest() {
+        mvc.perform(post("/items/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": []}")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).createItems(any(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void createItems_whenOneOfItemsIsInvalid_thenResponseStatusBadRequest() {
+        mvc.perform(post("/items/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": [{\"name\": \"ball\", \"description\": \"for basketball\", " +
+                                "\"available\": true}, {\"name\": \"b\", \"description\": \"for handball\", " +
+                                "\"available\": true}]}")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).createItems(any(), anyLong());
     }
-}
\ No newline at end of file
+}
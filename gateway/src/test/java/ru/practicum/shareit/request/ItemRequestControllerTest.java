@@ -37,7 +37,7 @@ class ItemRequestControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(itemRequestClient, never()).getAllItemRequests(anyInt(), anyInt(), anyLong(), anyBoolean());
+        verify(itemRequestClient, never()).getAllItemRequests(anyInt(), anyInt(), any(), anyLong(), anyBoolean());
     }
 
     @Test
@@ -51,6 +51,20 @@ class ItemRequestControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(itemRequestClient, never()).getAllItemRequests(anyInt(), anyInt(), anyLong(), anyBoolean());
+        verify(itemRequestClient, never()).getAllItemRequests(anyInt(), anyInt(), any(), anyLong(), anyBoolean());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getAllItemRequests_whenAfterIsNotServerCursor_thenResponseStatusBadRequest() {
+        mvc.perform(get("/requests/all")
+                        .param("size", "2")
+                        .param("after", "2023-03-01T12:00,5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemRequestClient, never()).getAllItemRequests(anyInt(), anyInt(), any(), anyLong(), anyBoolean());
+    }
+}
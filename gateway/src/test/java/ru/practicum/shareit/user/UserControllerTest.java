@@ -0,0 +1,65 @@
+package ru.practicum.shareit.user;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserController.class)
+@ExtendWith(MockitoExtension.class)
+class UserControllerTest {
+    @MockBean
+    private UserClient userClient;
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    @SneakyThrows
+    void removeUser_whenInvoked_thenDeleteForwardedToServer() {
+        AtomicBoolean forwarded = new AtomicBoolean();
+        when(userClient.removeUser(1L)).thenReturn(Mono.fromCallable(() -> {
+            forwarded.set(true);
+            return ResponseEntity.ok().build();
+        }));
+
+        MvcResult mvcResult = mvc.perform(delete("/users/{id}", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+        assertThat(forwarded.get(), is(true));
+    }
+
+    @Test
+    @SneakyThrows
+    void removeUser_whenServerRespondsNotFound_thenResponseStatusNotFound() {
+        when(userClient.removeUser(1L))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build()));
+
+        MvcResult mvcResult = mvc.perform(delete("/users/{id}", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotFound());
+    }
+}
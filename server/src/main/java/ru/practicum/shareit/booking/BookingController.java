@@ -2,11 +2,16 @@ package ru.practicum.shareit.booking;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.KeysetPage;
 
 import java.util.Collection;
 
@@ -31,6 +36,14 @@ public class BookingController {
         return createdBooking;
     }
 
+    @PatchMapping("/batch")
+    public Collection<BookingBatchResultDto> approveBookingsByOwner(
+            @RequestBody BookingBatchRequestDto bookingBatchRequestDto,
+            @RequestParam(value = "approved") Boolean isApproved,
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        return bookingService.approveBookingsByOwner(bookingBatchRequestDto.getIds(), isApproved, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto approveBookingByOwner(@PathVariable(value = "bookingId") Long id,
                                                     @RequestParam(value = "approved") Boolean isApproved,
@@ -45,20 +58,31 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingResponseDto> getAllBookingsOfUser(
+    public ResponseEntity<Collection<BookingResponseDto>> getAllBookingsOfUser(
             @RequestParam(value = "state", defaultValue = "ALL") String state,
             @RequestParam(value = "from", defaultValue = "0") int from,
             @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "after", required = false) String after,
             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        return bookingService.getAllBookingsOfUser(BookingState.valueOf(state), from, size, userId);
+        BookingState bookingState = BookingState.valueOf(state);
+        Collection<BookingResponseDto> bookings = after != null
+                ? bookingService.getAllBookingsOfUserAfter(bookingState, KeysetCursor.parse(after), size, userId)
+                : bookingService.getAllBookingsOfUser(bookingState, from, size, userId);
+        return KeysetPage.of(bookings, size, booking -> BookingMapper.mapDtoToCursor(bookingState, booking));
     }
 
     @GetMapping("/owner")
-    public Collection<BookingResponseDto> getAllBookingsForItemsOfOwner(
+    public ResponseEntity<Collection<BookingResponseDto>> getAllBookingsForItemsOfOwner(
             @RequestParam(value = "state", defaultValue = "ALL") String state,
             @RequestParam(value = "from", defaultValue = "0") int from,
             @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "after", required = false) String after,
             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        return bookingService.getAllBookingsForItemsOfOwner(BookingState.valueOf(state), from, size, userId);
+        BookingState bookingState = BookingState.valueOf(state);
+        Collection<BookingResponseDto> bookings = after != null
+                ? bookingService.getAllBookingsForItemsOfOwnerAfter(bookingState, KeysetCursor.parse(after), size,
+                        userId)
+                : bookingService.getAllBookingsForItemsOfOwner(bookingState, from, size, userId);
+        return KeysetPage.of(bookings, size, booking -> BookingMapper.mapDtoToCursor(bookingState, booking));
     }
 }
@@ -2,9 +2,11 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 
@@ -29,4 +31,9 @@ public final class BookingMapper {
                 .status(BookingStatus.WAITING)
                 .build();
     }
+
+    public static KeysetCursor mapDtoToCursor(BookingState state, BookingResponseDto bookingResponseDto) {
+        return new KeysetCursor(state == BookingState.PAST ? bookingResponseDto.getEnd()
+                : bookingResponseDto.getStart(), bookingResponseDto.getId());
+    }
 }
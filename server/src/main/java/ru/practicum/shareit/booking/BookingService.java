@@ -5,47 +5,66 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingInterval;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.AlreadyDoneException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.NoBodyInRequestException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dao.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class BookingService {
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Autowired
     public BookingService(BookingRepository bookingRepository,
                           ItemRepository itemRepository,
-                          UserRepository userRepository) {
+                          UserRepository userRepository,
+                          BookingIntervalIndex bookingIntervalIndex) {
         this.bookingRepository = bookingRepository;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
     }
 
+    @Transactional
     public BookingResponseDto createBooking(BookingRequestDto bookingRequestDto, Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> {
             log.info("createBooking - user not found, id: {}", userId);
             throw new NotFoundException("Пользователя с данным id не существует.");
         });
-        Item item = itemRepository.findById(bookingRequestDto.getItemId()).orElseThrow(() -> {
+        Item item = itemRepository.findByIdForUpdate(bookingRequestDto.getItemId()).orElseThrow(() -> {
             log.info("createBooking - item not found, id: {}", bookingRequestDto.getItemId());
             throw new NotFoundException("Вещи с данным id не существует.");
         });
@@ -60,10 +79,15 @@ public class BookingService {
             throw new NotAvailableException("Вещь недоступна для бронирования.");
         }
 
+        checkNoApprovedOverlap(item.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd());
+
         Booking booking = BookingMapper.mapDtoToBooking(bookingRequestDto, item, user);
-        return BookingMapper.mapBookingToDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingIntervalIndex.index(savedBooking);
+        return BookingMapper.mapBookingToDto(savedBooking);
     }
 
+    @Transactional
     public BookingResponseDto approveBookingByOwner(Long id, Boolean isApproved, Long userId) {
         Booking booking = bookingRepository.findById(id).orElseThrow(() -> {
             log.info("approveBookingByOwner - booking not found, id: {}", id);
@@ -81,13 +105,89 @@ public class BookingService {
             throw new AlreadyDoneException("У бронирования уже был изменён статус.");
         }
 
+        BookingStatus status = isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
         if (isApproved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+            itemRepository.findByIdForUpdate(booking.getItem().getId());
+            checkNoApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd());
         }
 
-        return BookingMapper.mapBookingToDto(bookingRepository.save(booking));
+        if (bookingRepository.updateStatusIfWaiting(id, status) == 0) {
+            log.info("approveBookingByOwner - status of booking {} was changed concurrently", id);
+            throw new AlreadyDoneException("У бронирования уже был изменён статус.");
+        }
+
+        booking.setStatus(status);
+        bookingIntervalIndex.index(booking);
+        return BookingMapper.mapBookingToDto(booking);
+    }
+
+    @Transactional
+    public List<BookingBatchResultDto> approveBookingsByOwner(List<Long> ids, Boolean isApproved, Long userId) {
+        if (ids == null || ids.isEmpty()) {
+            log.info("approveBookingsByOwner - no booking ids in request of owner {}", userId);
+            throw new NoBodyInRequestException("Не указаны id бронирований.");
+        }
+
+        if (ids.size() > MAX_BATCH_SIZE) {
+            log.info("approveBookingsByOwner - {} booking ids in request of owner {} exceed the limit", ids.size(),
+                    userId);
+            throw new IllegalArgumentException("За один запрос можно изменить статус не более " + MAX_BATCH_SIZE +
+                    " бронирований.");
+        }
+
+        if (ids.stream().anyMatch(id -> id == null || id <= 0)) {
+            log.info("approveBookingsByOwner - invalid booking id in request of owner {}", userId);
+            throw new IllegalArgumentException("ID должно быть положительным числом.");
+        }
+
+        BookingStatus status = isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        Map<Long, Booking> bookings = bookingRepository.findByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, BookingBatchResultDto> results = new HashMap<>();
+        List<Booking> candidates = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                results.put(id, new BookingBatchResultDto(id, null, "Бронирования с данным id не существует."));
+            } else if (!booking.getItem().getOwner().getId().equals(userId)) {
+                results.put(id, new BookingBatchResultDto(id, null, "Подтверждать или отклонять запрос на " +
+                        "бронирование вещи может только её владелец."));
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results.put(id, new BookingBatchResultDto(id, booking.getStatus(),
+                        "У бронирования уже был изменён статус."));
+            } else {
+                candidates.add(booking);
+            }
+        }
+
+        if (isApproved) {
+            candidates = removeOverlappingCandidates(candidates, results);
+        }
+
+        if (!candidates.isEmpty()) {
+            List<Long> candidateIds = candidates.stream().map(Booking::getId).collect(Collectors.toUnmodifiableList());
+            int updated = bookingRepository.updateStatusIfWaitingAndOwnedBy(candidateIds, userId, status);
+            Map<Long, BookingStatus> currentStatuses = updated == candidateIds.size() ? Map.of() :
+                    bookingRepository.findByIdIn(candidateIds).stream()
+                            .collect(Collectors.toMap(Booking::getId, Booking::getStatus));
+            for (Booking booking : candidates) {
+                BookingStatus currentStatus = currentStatuses.getOrDefault(booking.getId(), status);
+                if (currentStatus != status) {
+                    results.put(booking.getId(), new BookingBatchResultDto(booking.getId(), currentStatus,
+                            "У бронирования уже был изменён статус."));
+                } else {
+                    booking.setStatus(status);
+                    bookingIntervalIndex.index(booking);
+                    results.put(booking.getId(), new BookingBatchResultDto(booking.getId(), status, null));
+                }
+            }
+        }
+
+        log.info("approveBookingsByOwner - owner {} set status {} for bookings {}", userId, status, requestedIds);
+        return requestedIds.stream()
+                .map(results::get)
+                .collect(Collectors.toUnmodifiableList());
     }
 
     public BookingResponseDto getBookingById(Long id, Long userId) {
@@ -106,38 +206,86 @@ public class BookingService {
     }
 
     public Collection<BookingResponseDto> getAllBookingsOfUser(BookingState state, int from, int size, Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> {
+        if (!userRepository.existsById(userId)) {
             log.info("getAllBookingsOfUser - user not found, id: {}", userId);
             throw new NotFoundException("Пользователя с данным id не существует.");
-        });
+        }
+        User user = userRepository.getReferenceById(userId);
 
         List<Booking> bookingsOfUser = new ArrayList<>();
         Pageable pageRequest = PageRequest.of(from > 0 ? from / size : 0, size);
 
         switch (state) {
             case ALL:
-                bookingsOfUser = bookingRepository.findByBookerOrderByStartDesc(user, pageRequest).getContent();
+                bookingsOfUser = bookingRepository.findByBookerOrderByStartDescIdDesc(user, pageRequest);
+                break;
+            case PAST:
+                bookingsOfUser = bookingRepository
+                        .findByBookerAndEndBeforeOrderByEndDescIdDesc(user, LocalDateTime.now(), pageRequest);
+                break;
+            case CURRENT:
+                bookingsOfUser = bookingRepository
+                        .findByBookerAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                                user, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
+                break;
+            case FUTURE:
+                bookingsOfUser = bookingRepository
+                        .findByBookerAndStartAfterOrderByStartDescIdDesc(user, LocalDateTime.now(), pageRequest);
+                break;
+            case WAITING:
+                bookingsOfUser = bookingRepository
+                        .findByBookerAndStatusOrderByStartDescIdDesc(user, BookingStatus.WAITING, pageRequest);
+                break;
+            case REJECTED:
+                bookingsOfUser = bookingRepository
+                        .findByBookerAndStatusOrderByStartDescIdDesc(user, BookingStatus.REJECTED, pageRequest);
+        }
+
+        return bookingsOfUser.stream()
+                .map(BookingMapper::mapBookingToDto)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    public Collection<BookingResponseDto> getAllBookingsOfUserAfter(BookingState state, KeysetCursor after, int size,
+                                                                    Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.info("getAllBookingsOfUserAfter - user not found, id: {}", userId);
+            throw new NotFoundException("Пользователя с данным id не существует.");
+        }
+
+        List<Booking> bookingsOfUser = new ArrayList<>();
+        Pageable pageRequest = PageRequest.of(0, size);
+        LocalDateTime currentTime = LocalDateTime.now();
+
+        switch (state) {
+            case ALL:
+                bookingsOfUser = bookingRepository
+                        .findByBookerIdAfter(userId, after.getTimestamp(), after.getId(), pageRequest);
                 break;
             case PAST:
                 bookingsOfUser = bookingRepository
-                        .findByBookerAndEndBeforeOrderByEndDesc(user, LocalDateTime.now(), pageRequest).getContent();
+                        .findPastByBookerIdAfter(userId, currentTime, after.getTimestamp(), after.getId(),
+                                pageRequest);
                 break;
             case CURRENT:
                 bookingsOfUser = bookingRepository
-                        .findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(
-                                user, LocalDateTime.now(), LocalDateTime.now(), pageRequest).getContent();
+                        .findCurrentByBookerIdAfter(userId, currentTime, after.getTimestamp(), after.getId(),
+                                pageRequest);
                 break;
             case FUTURE:
                 bookingsOfUser = bookingRepository
-                        .findByBookerAndStartAfterOrderByStartDesc(user, LocalDateTime.now(), pageRequest).getContent();
+                        .findFutureByBookerIdAfter(userId, currentTime, after.getTimestamp(), after.getId(),
+                                pageRequest);
                 break;
             case WAITING:
                 bookingsOfUser = bookingRepository
-                        .findByBookerAndStatusOrderByStartDesc(user, BookingStatus.WAITING, pageRequest).getContent();
+                        .findByBookerIdAndStatusAfter(userId, BookingStatus.WAITING, after.getTimestamp(),
+                                after.getId(), pageRequest);
                 break;
             case REJECTED:
                 bookingsOfUser = bookingRepository
-                        .findByBookerAndStatusOrderByStartDesc(user, BookingStatus.REJECTED, pageRequest).getContent();
+                        .findByBookerIdAndStatusAfter(userId, BookingStatus.REJECTED, after.getTimestamp(),
+                                after.getId(), pageRequest);
         }
 
         return bookingsOfUser.stream()
@@ -147,14 +295,9 @@ public class BookingService {
 
     public Collection<BookingResponseDto> getAllBookingsForItemsOfOwner(BookingState state, int from, int size,
                                                                         Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> {
+        if (!userRepository.existsById(userId)) {
             log.info("getAllBookingsForItemsOfOwner - user not found, id: {}", userId);
             throw new NotFoundException("Пользователя с данным id не существует.");
-        });
-
-        List<Item> itemsOfOwner = itemRepository.findByOwner(user);
-        if (itemsOfOwner.size() == 0) {
-            return new ArrayList<>();
         }
 
         List<Booking> bookingsForItemsOfOwner = new ArrayList<>();
@@ -163,36 +306,127 @@ public class BookingService {
         switch (state) {
             case ALL:
                 bookingsForItemsOfOwner = bookingRepository
-                        .findByItemInOrderByStartDesc(itemsOfOwner, pageRequest).getContent();
+                        .findByItemOwnerIdOrderByStartDescIdDesc(userId, pageRequest);
                 break;
             case PAST:
                 bookingsForItemsOfOwner = bookingRepository
-                        .findByItemInAndEndBeforeOrderByEndDesc(itemsOfOwner, LocalDateTime.now(), pageRequest)
-                        .getContent();
+                        .findByItemOwnerIdAndEndBeforeOrderByEndDescIdDesc(userId, LocalDateTime.now(), pageRequest);
                 break;
             case CURRENT:
                 bookingsForItemsOfOwner = bookingRepository
-                        .findByItemInAndStartBeforeAndEndAfterOrderByStartDesc(
-                                itemsOfOwner, LocalDateTime.now(), LocalDateTime.now(), pageRequest).getContent();
+                        .findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                                userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
                 break;
             case FUTURE:
                 bookingsForItemsOfOwner = bookingRepository
-                        .findByItemInAndStartAfterOrderByStartDesc(itemsOfOwner, LocalDateTime.now(), pageRequest)
-                        .getContent();
+                        .findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(userId, LocalDateTime.now(), pageRequest);
                 break;
             case WAITING:
                 bookingsForItemsOfOwner = bookingRepository
-                        .findByItemInAndStatusOrderByStartDesc(itemsOfOwner, BookingStatus.WAITING, pageRequest)
-                        .getContent();
+                        .findByItemOwnerIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.WAITING, pageRequest);
                 break;
             case REJECTED:
                 bookingsForItemsOfOwner = bookingRepository
-                        .findByItemInAndStatusOrderByStartDesc(itemsOfOwner, BookingStatus.REJECTED, pageRequest)
-                        .getContent();
+                        .findByItemOwnerIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.REJECTED, pageRequest);
         }
 
         return bookingsForItemsOfOwner.stream()
                 .map(BookingMapper::mapBookingToDto)
                 .collect(Collectors.toUnmodifiableList());
     }
+
+    public Collection<BookingResponseDto> getAllBookingsForItemsOfOwnerAfter(BookingState state, KeysetCursor after,
+                                                                             int size, Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.info("getAllBookingsForItemsOfOwnerAfter - user not found, id: {}", userId);
+            throw new NotFoundException("Пользователя с данным id не существует.");
+        }
+
+        List<Booking> bookingsForItemsOfOwner = new ArrayList<>();
+        Pageable pageRequest = PageRequest.of(0, size);
+        LocalDateTime currentTime = LocalDateTime.now();
+
+        switch (state) {
+            case ALL:
+                bookingsForItemsOfOwner = bookingRepository
+                        .findByItemOwnerIdAfter(userId, after.getTimestamp(), after.getId(), pageRequest);
+                break;
+            case PAST:
+                bookingsForItemsOfOwner = bookingRepository
+                        .findPastByItemOwnerIdAfter(userId, currentTime, after.getTimestamp(), after.getId(),
+                                pageRequest);
+                break;
+            case CURRENT:
+                bookingsForItemsOfOwner = bookingRepository
+                        .findCurrentByItemOwnerIdAfter(userId, currentTime, after.getTimestamp(), after.getId(),
+                                pageRequest);
+                break;
+            case FUTURE:
+                bookingsForItemsOfOwner = bookingRepository
+                        .findFutureByItemOwnerIdAfter(userId, currentTime, after.getTimestamp(), after.getId(),
+                                pageRequest);
+                break;
+            case WAITING:
+                bookingsForItemsOfOwner = bookingRepository
+                        .findByItemOwnerIdAndStatusAfter(userId, BookingStatus.WAITING, after.getTimestamp(),
+                                after.getId(), pageRequest);
+                break;
+            case REJECTED:
+                bookingsForItemsOfOwner = bookingRepository
+                        .findByItemOwnerIdAndStatusAfter(userId, BookingStatus.REJECTED, after.getTimestamp(),
+                                after.getId(), pageRequest);
+        }
+
+        return bookingsForItemsOfOwner.stream()
+                .map(BookingMapper::mapBookingToDto)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private void checkNoApprovedOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED, end,
+                start)) {
+            log.info("checkNoApprovedOverlap - item {} already booked between {} and {}", itemId, start, end);
+            throw new BookingOverlapException("Вещь уже забронирована на выбранный период.");
+        }
+    }
+
+    private List<Booking> removeOverlappingCandidates(List<Booking> candidates,
+                                                      Map<Long, BookingBatchResultDto> results) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        Set<Long> itemIds = candidates.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toCollection(TreeSet::new));
+        itemRepository.findAllByIdForUpdate(itemIds);
+
+        LocalDateTime start = candidates.stream().map(Booking::getStart).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime end = candidates.stream().map(Booking::getEnd).max(LocalDateTime::compareTo).orElseThrow();
+        Map<Long, List<BookingInterval>> approvedIntervals = bookingRepository
+                .findIntervalsByItemIdInAndStatus(itemIds, BookingStatus.APPROVED, start, end).stream()
+                .collect(Collectors.groupingBy(BookingInterval::getItemId));
+
+        Map<Long, List<Booking>> acceptedBookings = new HashMap<>();
+        List<Booking> approvable = new ArrayList<>();
+        for (Booking booking : candidates) {
+            Long itemId = booking.getItem().getId();
+            boolean overlapsApproved = approvedIntervals.getOrDefault(itemId, List.of()).stream()
+                    .anyMatch(interval -> interval.getStart().isBefore(booking.getEnd()) &&
+                            interval.getEnd().isAfter(booking.getStart()));
+            boolean overlapsAccepted = acceptedBookings.getOrDefault(itemId, List.of()).stream()
+                    .anyMatch(accepted -> accepted.getStart().isBefore(booking.getEnd()) &&
+                            accepted.getEnd().isAfter(booking.getStart()));
+            if (overlapsApproved || overlapsAccepted) {
+                log.info("removeOverlappingCandidates - item {} already booked between {} and {}", itemId,
+                        booking.getStart(), booking.getEnd());
+                results.put(booking.getId(), new BookingBatchResultDto(booking.getId(), booking.getStatus(),
+                        "Вещь уже забронирована на выбранный период."));
+            } else {
+                acceptedBookings.computeIfAbsent(itemId, key -> new ArrayList<>()).add(booking);
+                approvable.add(booking);
+            }
+        }
+        return approvable;
+    }
 }
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.booking.dao;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.NearestBooking;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -13,71 +16,236 @@ import ru.practicum.shareit.user.User;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    Page<Booking> findByBookerOrderByStartDesc(User booker, Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findByBookerAndEndBeforeOrderByEndDesc(User booker, LocalDateTime currentTime, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByBookerOrderByStartDescIdDesc(User booker, Pageable pageable);
 
-    Page<Booking> findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(User booker, LocalDateTime currentTimeStart,
-                                                                        LocalDateTime currentTimeEnd,
-                                                                        Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByBookerAndEndBeforeOrderByEndDescIdDesc(User booker, LocalDateTime currentTime,
+                                                               Pageable pageable);
 
-    Page<Booking> findByBookerAndStartAfterOrderByStartDesc(User booker, LocalDateTime currentTime, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByBookerAndStartBeforeAndEndAfterOrderByStartDescIdDesc(User booker,
+                                                                              LocalDateTime currentTimeStart,
+                                                                              LocalDateTime currentTimeEnd,
+                                                                              Pageable pageable);
 
-    Page<Booking> findByBookerAndStatusOrderByStartDesc(User booker, BookingStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByBookerAndStartAfterOrderByStartDescIdDesc(User booker, LocalDateTime currentTime,
+                                                                  Pageable pageable);
 
-    Page<Booking> findByItemInOrderByStartDesc(List<Item> itemsOfOwner, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByBookerAndStatusOrderByStartDescIdDesc(User booker, BookingStatus status, Pageable pageable);
 
-    Page<Booking> findByItemInAndEndBeforeOrderByEndDesc(List<Item> itemsOfOwner, LocalDateTime currentTime,
-                                                         Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByItemOwnerIdOrderByStartDescIdDesc(Long ownerId, Pageable pageable);
 
-    Page<Booking> findByItemInAndStartBeforeAndEndAfterOrderByStartDesc(List<Item> itemsOfOwner,
-                                                                        LocalDateTime currentTimeStart,
-                                                                        LocalDateTime currentTimeEnd,
-                                                                        Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByItemOwnerIdAndEndBeforeOrderByEndDescIdDesc(Long ownerId, LocalDateTime currentTime,
+                                                                    Pageable pageable);
 
-    Page<Booking> findByItemInAndStartAfterOrderByStartDesc(List<Item> itemsOfOwner, LocalDateTime currentTime,
-                                                            Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long ownerId,
+                                                                                   LocalDateTime currentTimeStart,
+                                                                                   LocalDateTime currentTimeEnd,
+                                                                                   Pageable pageable);
 
-    Page<Booking> findByItemInAndStatusOrderByStartDesc(List<Item> itemsOfOwner, BookingStatus status,
-                                                        Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(Long ownerId, LocalDateTime currentTime,
+                                                                       Pageable pageable);
 
-    BookingShort findFirstByItemAndStartBeforeAndEndAfterAndStatusInOrderByStartAsc(
-            Item item, LocalDateTime currentTimeStart, LocalDateTime currentTimeEnd,
-            Collection<BookingStatus> statuses);
-
-    BookingShort findFirstByItemAndEndBeforeAndStatusInOrderByEndDesc(Item item, LocalDateTime currentTime,
-                                                                      Collection<BookingStatus> statuses);
-
-    BookingShort findFirstByItemAndStartAfterAndStatusInOrderByStartAsc(Item item, LocalDateTime currentTime,
-                                                                        Collection<BookingStatus> statuses);
-
-    List<Booking> findByItemAndBookerAndEndBefore(Item item, User booker, LocalDateTime currentTime);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByItemOwnerIdAndStatusOrderByStartDescIdDesc(Long ownerId, BookingStatus status,
+                                                                   Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("select b from Booking b " +
-            "where b.end in " +
-            "(select max(b2.end) from Booking b2 " +
-            "where b2.item in ?1 and b2.end < ?2 and b2.status in ?3 " +
-            "group by b2.item)")
-    List<Booking> findAllLastBookings(Collection<Item> items, LocalDateTime currentTime,
-                                      Collection<BookingStatus> statuses);
-
+            "where b.booker.id = :bookerId " +
+            "and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByBookerIdAfter(@Param("bookerId") Long bookerId,
+                                       @Param("start") LocalDateTime start,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("select b from Booking b " +
-            "where b.start in " +
-            "(select max(b2.start) from Booking b2 " +
-            "where b2.item in ?1 and b2.start < ?2 and b2.end > ?2 and b2.status in ?3 " +
-            "group by b2.item)")
-    List<Booking> findAllCurrentBookings(Collection<Item> items, LocalDateTime currentTime,
-                                         Collection<BookingStatus> statuses);
-
+            "where b.booker.id = :bookerId " +
+            "and b.end < :currentTime " +
+            "and (b.end < :end or (b.end = :end and b.id < :id)) " +
+            "order by b.end desc, b.id desc")
+    List<Booking> findPastByBookerIdAfter(@Param("bookerId") Long bookerId,
+                                          @Param("currentTime") LocalDateTime currentTime,
+                                          @Param("end") LocalDateTime end,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and b.start < :currentTime and b.end > :currentTime " +
+            "and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findCurrentByBookerIdAfter(@Param("bookerId") Long bookerId,
+                                             @Param("currentTime") LocalDateTime currentTime,
+                                             @Param("start") LocalDateTime start,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and b.start > :currentTime " +
+            "and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findFutureByBookerIdAfter(@Param("bookerId") Long bookerId,
+                                            @Param("currentTime") LocalDateTime currentTime,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("select b from Booking b " +
-            "where b.start in " +
-            "(select min(b2.start) from Booking b2 " +
-            "where b2.item in ?1 and b2.start > ?2 and b2.status in ?3 " +
-            "group by b2.item)")
-    List<Booking> findAllNextBookings(Collection<Item> items, LocalDateTime currentTime,
-                                      Collection<BookingStatus> statuses);
+            "where b.booker.id = :bookerId " +
+            "and b.status = :status " +
+            "and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByBookerIdAndStatusAfter(@Param("bookerId") Long bookerId,
+                                               @Param("status") BookingStatus status,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByItemOwnerIdAfter(@Param("ownerId") Long ownerId,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.end < :currentTime " +
+            "and (b.end < :end or (b.end = :end and b.id < :id)) " +
+            "order by b.end desc, b.id desc")
+    List<Booking> findPastByItemOwnerIdAfter(@Param("ownerId") Long ownerId,
+                                             @Param("currentTime") LocalDateTime currentTime,
+                                             @Param("end") LocalDateTime end,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.start < :currentTime and b.end > :currentTime " +
+            "and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findCurrentByItemOwnerIdAfter(@Param("ownerId") Long ownerId,
+                                                @Param("currentTime") LocalDateTime currentTime,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.start > :currentTime " +
+            "and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findFutureByItemOwnerIdAfter(@Param("ownerId") Long ownerId,
+                                               @Param("currentTime") LocalDateTime currentTime,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.status = :status " +
+            "and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByItemOwnerIdAndStatusAfter(@Param("ownerId") Long ownerId,
+                                                  @Param("status") BookingStatus status,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status " +
+            "where b.id = :id and b.status = ru.practicum.shareit.booking.enums.BookingStatus.WAITING")
+    int updateStatusIfWaiting(@Param("id") Long id, @Param("status") BookingStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status " +
+            "where b.id in :ids " +
+            "and b.status = ru.practicum.shareit.booking.enums.BookingStatus.WAITING " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = :ownerId)")
+    int updateStatusIfWaitingAndOwnedBy(@Param("ids") Collection<Long> ids,
+                                        @Param("ownerId") Long ownerId,
+                                        @Param("status") BookingStatus status);
+
+    @EntityGraph(attributePaths = {"item"})
+    List<Booking> findByIdIn(Collection<Long> ids);
+
+    @Query("select b.id as id, b.item.id as itemId, b.booker.id as bookerId, b.start as start, b.end as end, " +
+            "b.status as status " +
+            "from Booking b " +
+            "where b.item.id in :itemIds " +
+            "and b.status = :status " +
+            "and b.start < :end and b.end > :start")
+    List<BookingInterval> findIntervalsByItemIdInAndStatus(@Param("itemIds") Collection<Long> itemIds,
+                                                           @Param("status") BookingStatus status,
+                                                           @Param("start") LocalDateTime start,
+                                                           @Param("end") LocalDateTime end);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, BookingStatus status, LocalDateTime end,
+                                                             LocalDateTime start);
+
+    @Query("select b.id as id, b.item.id as itemId, b.booker.id as bookerId, b.start as start, b.end as end, " +
+            "b.status as status " +
+            "from Booking b " +
+            "where b.status in :statuses")
+    List<BookingInterval> findIntervalsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("select b.id as id, b.item.id as itemId, b.booker.id as bookerId, b.start as start, b.end as end, " +
+            "b.status as status " +
+            "from Booking b " +
+            "where b.item.id = :itemId " +
+            "and b.status = :status " +
+            "and b.start < :end and b.end > :start " +
+            "order by b.start asc")
+    Stream<BookingInterval> streamIntervalsByItemIdAndStatus(@Param("itemId") Long itemId,
+                                                             @Param("status") BookingStatus status,
+                                                             @Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end);
+
+    List<Booking> findByItemAndBookerAndEndBefore(Item item, User booker, LocalDateTime currentTime);
+
+    @Query(value = "select ranked.id as \"id\", ranked.item_id as \"itemId\", " +
+            "ranked.booker_id as \"bookerId\", ranked.is_next as \"isNext\" " +
+            "from (select b.id, b.item_id, b.booker_id, b.start_date > :currentTime as is_next, " +
+            "row_number() over (partition by b.item_id, b.start_date > :currentTime order by " +
+            "case when b.end_date > :currentTime then 0 else 1 end, " +
+            "case when b.start_date > :currentTime then b.start_date end asc nulls last, " +
+            "case when b.start_date <= :currentTime and b.end_date > :currentTime then b.start_date end desc nulls last, " +
+            "b.end_date desc) as booking_rank " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) and b.status_id in (:statusIds)) ranked " +
+            "where ranked.booking_rank = 1", nativeQuery = true)
+    List<NearestBooking> findLastAndNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                                 @Param("currentTime") LocalDateTime currentTime,
+                                                 @Param("statusIds") Collection<Integer> statusIds);
 
 }
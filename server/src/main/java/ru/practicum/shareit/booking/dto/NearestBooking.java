@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface NearestBooking {
+
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    Boolean getIsNext();
+
+}
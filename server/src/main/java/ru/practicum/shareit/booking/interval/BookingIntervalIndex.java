@@ -0,0 +1,225 @@
+package ru.practicum.shareit.booking.interval;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.NearestBooking;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.transaction.TransactionHooks;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class BookingIntervalIndex {
+    private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IntervalList> activeByItem = new HashMap<>();
+    private final Map<Long, IntervalList> approvedByItem = new HashMap<>();
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking-interval-index.enabled:false}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        List<BookingInterval> intervals =
+                bookingRepository.findIntervalsByStatusIn(List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+
+        lock.writeLock().lock();
+        try {
+            activeByItem.clear();
+            approvedByItem.clear();
+            for (BookingInterval interval : intervals) {
+                add(interval.getId(), interval.getItemId(), interval.getBookerId(), interval.getStart(),
+                        interval.getEnd(), interval.getStatus());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("rebuild - indexed {} waiting and approved bookings", intervals.size());
+    }
+
+    public void index(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+
+        Long id = booking.getId();
+        Long itemId = booking.getItem().getId();
+        Long bookerId = booking.getBooker().getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        BookingStatus status = booking.getStatus();
+        TransactionHooks.runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id, itemId);
+                add(id, itemId, bookerId, start, end, status);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeBookingsOfUser(Long userId, Collection<Long> ownedItemIds) {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> itemIds = List.copyOf(ownedItemIds);
+        TransactionHooks.runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeBooker(activeByItem, userId);
+                removeBooker(approvedByItem, userId);
+                activeByItem.keySet().removeAll(itemIds);
+                approvedByItem.keySet().removeAll(itemIds);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<BookingInterval> findApprovedIntervals(Long itemId, LocalDateTime from, LocalDateTime to) {
+        long fromMicros = toMicros(from);
+        long toMicros = toMicros(to);
+        List<BookingInterval> intervals = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            IntervalList approved = approvedByItem.get(itemId);
+            if (approved == null) {
+                return intervals;
+            }
+            int end = approved.endOfOverlapping(toMicros);
+            for (int i = approved.firstOverlapping(fromMicros); i < end; i++) {
+                if (approved.endAt(i) > fromMicros) {
+                    intervals.add(new IndexedBookingInterval(approved.idAt(i), itemId, approved.bookerIdAt(i),
+                            fromMicros(approved.startAt(i)), fromMicros(approved.endAt(i)), BookingStatus.APPROVED));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return intervals;
+    }
+
+    public List<NearestBooking> findLastAndNextBookings(Collection<Long> itemIds, LocalDateTime currentTime) {
+        long now = toMicros(currentTime);
+        List<NearestBooking> nearestBookings = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Long itemId : itemIds) {
+                IntervalList active = activeByItem.get(itemId);
+                if (active == null) {
+                    continue;
+                }
+                int last = active.last(now);
+                if (last >= 0) {
+                    nearestBookings.add(new IndexedNearestBooking(active.idAt(last), itemId,
+                            active.bookerIdAt(last), false));
+                }
+                int next = active.next(now);
+                if (next >= 0) {
+                    nearestBookings.add(new IndexedNearestBooking(active.idAt(next), itemId,
+                            active.bookerIdAt(next), true));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return nearestBookings;
+    }
+
+    private void add(Long id, Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end,
+                     BookingStatus status) {
+        if (status == BookingStatus.REJECTED) {
+            return;
+        }
+
+        activeByItem.computeIfAbsent(itemId, key -> new IntervalList())
+                .add(id, bookerId, toMicros(start), toMicros(end));
+        if (status == BookingStatus.APPROVED) {
+            approvedByItem.computeIfAbsent(itemId, key -> new IntervalList())
+                    .add(id, bookerId, toMicros(start), toMicros(end));
+        }
+    }
+
+    private void remove(Long id, Long itemId) {
+        remove(activeByItem, id, itemId);
+        remove(approvedByItem, id, itemId);
+    }
+
+    private static void remove(Map<Long, IntervalList> byItem, Long id, Long itemId) {
+        IntervalList intervals = byItem.get(itemId);
+        if (intervals != null && intervals.remove(id) && intervals.isEmpty()) {
+            byItem.remove(itemId);
+        }
+    }
+
+    private static void removeBooker(Map<Long, IntervalList> byItem, Long bookerId) {
+        byItem.values().forEach(intervals -> intervals.removeBooker(bookerId));
+        byItem.values().removeIf(IntervalList::isEmpty);
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(EPOCH, dateTime);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class IndexedBookingInterval implements BookingInterval {
+        private Long id;
+        private Long itemId;
+        private Long bookerId;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private BookingStatus status;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class IndexedNearestBooking implements NearestBooking {
+        private Long id;
+        private Long itemId;
+        private Long bookerId;
+        private Boolean isNext;
+    }
+}
@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking.interval;
+
+import java.util.Arrays;
+
+class IntervalList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] bookerIds = new long[INITIAL_CAPACITY];
+    private int[] maxEndIndexes = new int[INITIAL_CAPACITY];
+    private long[] maxEndTree = emptyTree(INITIAL_CAPACITY);
+    private int size;
+
+    void add(long id, long bookerId, long start, long end) {
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            bookerIds = Arrays.copyOf(bookerIds, capacity);
+            maxEndIndexes = Arrays.copyOf(maxEndIndexes, capacity);
+            maxEndTree = emptyTree(capacity);
+            updateMaxEnds(0);
+        }
+
+        int index = firstStartAfter(start);
+        int tail = size - index;
+        System.arraycopy(starts, index, starts, index + 1, tail);
+        System.arraycopy(ends, index, ends, index + 1, tail);
+        System.arraycopy(ids, index, ids, index + 1, tail);
+        System.arraycopy(bookerIds, index, bookerIds, index + 1, tail);
+        starts[index] = start;
+        ends[index] = end;
+        ids[index] = id;
+        bookerIds[index] = bookerId;
+        size++;
+        updateMaxEnds(index);
+    }
+
+    boolean remove(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                removeAt(i);
+                updateMaxEnds(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void removeBooker(long bookerId) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (bookerIds[i] != bookerId) {
+                starts[kept] = starts[i];
+                ends[kept] = ends[i];
+                ids[kept] = ids[i];
+                bookerIds[kept] = bookerIds[i];
+                kept++;
+            }
+        }
+        size = kept;
+        updateMaxEnds(0);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int firstOverlapping(long from) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ends[maxEndIndexes[middle]] <= from) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    int endOfOverlapping(long to) {
+        return firstStartAtOrAfter(to);
+    }
+
+    int last(long now) {
+        int last = firstStartAfter(now) - 1;
+        if (last < 0) {
+            return -1;
+        }
+        if (ends[maxEndIndexes[last]] <= now) {
+            return maxEndIndexes[last];
+        }
+        return lastEndingAfter(1, 0, starts.length, last, now);
+    }
+
+    int next(long now) {
+        int next = firstStartAfter(now);
+        return next < size ? next : -1;
+    }
+
+    long idAt(int index) {
+        return ids[index];
+    }
+
+    long bookerIdAt(int index) {
+        return bookerIds[index];
+    }
+
+    long startAt(int index) {
+        return starts[index];
+    }
+
+    long endAt(int index) {
+        return ends[index];
+    }
+
+    private void removeAt(int index) {
+        int tail = size - index - 1;
+        System.arraycopy(starts, index + 1, starts, index, tail);
+        System.arraycopy(ends, index + 1, ends, index, tail);
+        System.arraycopy(ids, index + 1, ids, index, tail);
+        System.arraycopy(bookerIds, index + 1, bookerIds, index, tail);
+        size--;
+    }
+
+    private void updateMaxEnds(int from) {
+        for (int i = from; i < size; i++) {
+            maxEndIndexes[i] = i > 0 && ends[maxEndIndexes[i - 1]] >= ends[i] ? maxEndIndexes[i - 1] : i;
+        }
+
+        int capacity = starts.length;
+        for (int i = from; i < capacity; i++) {
+            maxEndTree[capacity + i] = i < size ? ends[i] : Long.MIN_VALUE;
+        }
+        for (int low = (capacity + from) / 2, high = capacity - 1; low >= 1; low /= 2, high /= 2) {
+            for (int node = low; node <= high; node++) {
+                maxEndTree[node] = Math.max(maxEndTree[2 * node], maxEndTree[2 * node + 1]);
+            }
+        }
+    }
+
+    private int lastEndingAfter(int node, int nodeStart, int nodeEnd, int to, long now) {
+        if (nodeStart > to || maxEndTree[node] <= now) {
+            return -1;
+        }
+        if (node >= starts.length) {
+            return nodeStart;
+        }
+        int middle = (nodeStart + nodeEnd) >>> 1;
+        int last = lastEndingAfter(2 * node + 1, middle, nodeEnd, to, now);
+        return last >= 0 ? last : lastEndingAfter(2 * node, nodeStart, middle, to, now);
+    }
+
+    private static long[] emptyTree(int capacity) {
+        long[] tree = new long[2 * capacity];
+        Arrays.fill(tree, Long.MIN_VALUE);
+        return tree;
+    }
+
+    private int firstStartAfter(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstStartAtOrAfter(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
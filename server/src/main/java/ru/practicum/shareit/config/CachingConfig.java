@@ -0,0 +1,12 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CachingConfig {
+    public static final String USERS = "users";
+    public static final String USER_IDS = "userIds";
+    public static final String ITEMS = "items";
+}
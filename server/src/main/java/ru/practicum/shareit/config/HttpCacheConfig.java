@@ -0,0 +1,40 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@Configuration
+public class HttpCacheConfig {
+    private static final Pattern GET_BY_ID_PATH = Pattern.compile("/(users|items|requests)/\\d+");
+
+    @Bean
+    public CacheControl getByIdCacheControl(@Value("${shareit.http-cache.max-age:5}") long maxAge) {
+        return CacheControl.maxAge(maxAge, TimeUnit.SECONDS);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new GetByIdEtagHeaderFilter());
+        registration.addUrlPatterns("/users/*", "/items/*", "/requests/*");
+        return registration;
+    }
+
+    private static class GetByIdEtagHeaderFilter extends ShallowEtagHeaderFilter {
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            return !HttpMethod.GET.matches(request.getMethod()) || !GET_BY_ID_PATH.matcher(path).matches();
+        }
+    }
+}
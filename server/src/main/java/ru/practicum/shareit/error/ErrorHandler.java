@@ -1,6 +1,8 @@
 package ru.practicum.shareit.error;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -8,8 +10,12 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.error.model.ErrorResponse;
 import ru.practicum.shareit.exception.*;
 
+import java.sql.SQLException;
+
 @RestControllerAdvice
 public class ErrorHandler {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNotFoundException(final NotFoundException exception) {
@@ -22,6 +28,23 @@ public class ErrorHandler {
         return new ErrorResponse(exception.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(final BookingOverlapException exception) {
+        return new ErrorResponse(exception.getMessage());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            final DataIntegrityViolationException exception) {
+        if (hasSqlState(exception, EXCLUSION_VIOLATION)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("Вещь уже забронирована на выбранный период."));
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(exception.toString()));
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleNoIdInRequestException(final NoIdInRequestException exception) {
@@ -69,4 +92,13 @@ public class ErrorHandler {
     public ErrorResponse handleThrowable(final Throwable exception) {
         return new ErrorResponse(exception.toString());
     }
+
+    private static boolean hasSqlState(Throwable exception, String sqlState) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && sqlState.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
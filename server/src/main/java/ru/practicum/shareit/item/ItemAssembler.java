@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.dto.NearestBooking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public final class ItemAssembler {
+    public static List<ItemResponseDto> assembleItemsOfOwner(List<Item> itemsOfOwner,
+                                                             List<NearestBooking> nearestBookings,
+                                                             List<Comment> commentsOfItems) {
+        Map<Long, BookingForItemDto> lastBookingsByItemId = new HashMap<>();
+        Map<Long, BookingForItemDto> nextBookingsByItemId = new HashMap<>();
+        for (NearestBooking nearestBooking : nearestBookings) {
+            BookingForItemDto booking = new BookingForItemDto(nearestBooking.getId(), nearestBooking.getBookerId());
+            if (nearestBooking.getIsNext()) {
+                nextBookingsByItemId.put(nearestBooking.getItemId(), booking);
+            } else {
+                lastBookingsByItemId.put(nearestBooking.getItemId(), booking);
+            }
+        }
+        Map<Long, List<CommentDto>> commentsByItemId = commentsOfItems.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::mapCommentToDto, Collectors.toUnmodifiableList())));
+
+        return itemsOfOwner.stream()
+                .map(item -> {
+                    ItemResponseDto itemResponseDto = ItemMapper.mapItemToDto(item);
+
+                    itemResponseDto.setLastBooking(lastBookingsByItemId.get(item.getId()));
+                    itemResponseDto.setNextBooking(nextBookingsByItemId.get(item.getId()));
+                    itemResponseDto.setComments(commentsByItemId.getOrDefault(item.getId(), List.of()));
+
+                    return itemResponseDto;
+                })
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
@@ -2,13 +2,20 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
+import ru.practicum.shareit.item.dto.ItemBatchRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -16,10 +23,12 @@ import java.util.Collection;
 @Validated
 public class ItemController {
     private final ItemService itemService;
+    private final CacheControl getByIdCacheControl;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, CacheControl getByIdCacheControl) {
         this.itemService = itemService;
+        this.getByIdCacheControl = getByIdCacheControl;
     }
 
     @PostMapping
@@ -30,6 +39,14 @@ public class ItemController {
         return createdItem;
     }
 
+    @PostMapping("/batch")
+    public List<ItemResponseDto> createItems(@RequestBody ItemBatchRequestDto itemBatchRequestDto,
+                                             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        List<ItemResponseDto> createdItems = itemService.createItems(itemBatchRequestDto.getItems(), userId);
+        log.info("createItems - {} items were created by user {}.", createdItems.size(), userId);
+        return createdItems;
+    }
+
     @PatchMapping("/{itemId}")
     public ItemResponseDto updateItem(@RequestBody ItemRequestDto itemRequestDto,
                                       @PathVariable(value = "itemId") Long id,
@@ -40,24 +57,47 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemResponseDto getItemById(@PathVariable(value = "itemId") Long id,
-                                       @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        return itemService.getItemById(id, userId);
+    public ResponseEntity<ItemResponseDto> getItemById(@PathVariable(value = "itemId") Long id,
+                                                       @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        return ResponseEntity.ok()
+                .cacheControl(getByIdCacheControl)
+                .varyBy("X-Sharer-User-Id")
+                .body(itemService.getItemById(id, userId));
     }
 
     @GetMapping
     public Collection<ItemResponseDto> getAllItemsOfOwner(
             @RequestParam(value = "from", defaultValue = "0") int from,
             @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "after", required = false) Long after,
             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        if (after != null) {
+            return itemService.getAllItemsOfOwnerAfter(after, size, userId);
+        }
         return itemService.getAllItemsOfOwner(from, size, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Collection<FreeIntervalDto> getItemAvailability(
+            @PathVariable(value = "itemId") Long id,
+            @RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        return itemService.getItemAvailability(id, from, to, userId);
+    }
+
     @GetMapping("/search")
     public Collection<ItemResponseDto> searchItemsByText(
             @RequestParam(value = "from", defaultValue = "0") int from,
             @RequestParam(value = "size", defaultValue = "10") int size,
-            @RequestParam(value = "text") String text) {
+            @RequestParam(value = "text") String text,
+            @RequestParam(value = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(value = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (start != null || end != null) {
+            return itemService.searchFreeItemsByText(text, start, end, from, size);
+        }
         return itemService.searchItemsByText(text, from, size);
     }
 
@@ -2,13 +2,18 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
-import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.NearestBooking;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.config.CachingConfig;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NoBodyInRequestException;
 import ru.practicum.shareit.exception.NotAvailableException;
@@ -16,10 +21,12 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -28,30 +35,44 @@ import ru.practicum.shareit.user.dao.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class ItemService {
+    private static final List<Integer> ALLOWABLE_STATUS_IDS =
+            List.of(BookingStatus.WAITING.ordinal(), BookingStatus.APPROVED.ordinal());
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Autowired
     public ItemService(ItemRepository itemRepository,
                        UserRepository userRepository,
                        BookingRepository bookingRepository,
                        CommentRepository commentRepository,
-                       ItemRequestRepository itemRequestRepository) {
+                       ItemRequestRepository itemRequestRepository,
+                       ItemSearchIndex itemSearchIndex,
+                       BookingIntervalIndex bookingIntervalIndex) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.itemRequestRepository = itemRequestRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.bookingIntervalIndex = bookingIntervalIndex;
     }
 
     public ItemResponseDto createItem(ItemRequestDto itemRequestDto, Long userId) {
@@ -70,9 +91,55 @@ public class ItemService {
             item.setItemRequest(itemRequest);
         }
 
-        return ItemMapper.mapItemToDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+
+        return ItemMapper.mapItemToDto(savedItem);
     }
 
+    @Transactional
+    public List<ItemResponseDto> createItems(List<ItemRequestDto> itemRequestDtos, Long userId) {
+        if (itemRequestDtos == null || itemRequestDtos.isEmpty()) {
+            log.info("createItems - no items in request of user {}", userId);
+            throw new NoBodyInRequestException("Не указаны вещи для создания.");
+        }
+
+        User user = userRepository.findById(userId).orElseThrow(() -> {
+            log.info("createItems - user id not found: {}", userId);
+            throw new NotFoundException("Пользователя с данным id не существует.");
+        });
+
+        Set<Long> requestIds = itemRequestDtos.stream()
+                .map(ItemRequestDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> itemRequests = requestIds.isEmpty() ? Map.of() :
+                itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        if (itemRequests.size() < requestIds.size()) {
+            log.info("createItems - item request ids not found: {}", requestIds);
+            throw new NotFoundException("Запроса с данным id не существует.");
+        }
+
+        List<Item> items = new ArrayList<>(itemRequestDtos.size());
+        for (ItemRequestDto itemRequestDto : itemRequestDtos) {
+            Item item = ItemMapper.mapDtoToItem(itemRequestDto, user);
+            item.setId(null);
+            if (itemRequestDto.getRequestId() != null) {
+                item.setItemRequest(itemRequests.get(itemRequestDto.getRequestId()));
+            }
+            items.add(item);
+        }
+
+        List<Item> savedItems = itemRepository.saveAll(items);
+        savedItems.forEach(itemSearchIndex::index);
+
+        return savedItems.stream()
+                .map(ItemMapper::mapItemToDto)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @CacheEvict(cacheNames = CachingConfig.ITEMS, key = "#id")
     public ItemResponseDto updateItem(ItemRequestDto itemRequestDto, Long id, Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> {
             log.info("updateItem - user id not found: {}", userId);
@@ -106,7 +173,10 @@ public class ItemService {
             itemRequestDto.setIsAvailable(item.getIsAvailable());
         }
 
-        return ItemMapper.mapItemToDto(itemRepository.save(ItemMapper.mapDtoToItem(itemRequestDto, user)));
+        Item updatedItem = itemRepository.save(ItemMapper.mapDtoToItem(itemRequestDto, user));
+        itemSearchIndex.index(updatedItem);
+
+        return ItemMapper.mapItemToDto(updatedItem);
     }
 
     public ItemResponseDto getItemById(Long id, Long userId) {
@@ -128,44 +198,48 @@ public class ItemService {
     }
 
     public Collection<ItemResponseDto> getAllItemsOfOwner(int from, int size, Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> {
+        if (!userRepository.existsById(userId)) {
             log.info("getAllItemsOfOwner - user id not found: {}", userId);
             throw new NotFoundException("Пользователя с данным id не существует.");
-        });
+        }
+        User user = userRepository.getReferenceById(userId);
 
-        Set<BookingStatus> allowableStatuses = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
-        List<Item> itemsOfOwner = itemRepository.findByOwnerOrderByIdAsc(user, PageRequest.of(from > 0 ? from / size : 0, size))
-                .getContent();
+        return assembleItemsOfOwner(itemRepository.findByOwnerOrderByIdAsc(user,
+                PageRequest.of(from > 0 ? from / size : 0, size)));
+    }
 
-        List<Booking> lastBookings = bookingRepository.findAllLastBookings(itemsOfOwner, LocalDateTime.now(),
-                allowableStatuses);
-        List<Booking> currentBookings = bookingRepository.findAllCurrentBookings(itemsOfOwner, LocalDateTime.now(),
-                allowableStatuses);
-        List<Booking> nextBookings = bookingRepository.findAllNextBookings(itemsOfOwner, LocalDateTime.now(),
-                allowableStatuses);
+    public Collection<ItemResponseDto> getAllItemsOfOwnerAfter(Long after, int size, Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.info("getAllItemsOfOwnerAfter - user id not found: {}", userId);
+            throw new NotFoundException("Пользователя с данным id не существует.");
+        }
 
-        List<Comment> commentsOfItems = commentRepository.findByItemIn(itemsOfOwner);
+        return assembleItemsOfOwner(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, after,
+                PageRequest.of(0, size)));
+    }
 
-        return itemsOfOwner.stream()
-                .map(ItemMapper::mapItemToDto)
-                .peek(itemResponseDto -> {
-                    Item item = itemsOfOwner.stream()
-                            .filter((Item i) -> i.getId().equals(itemResponseDto.getId()))
-                            .findAny()
-                            .orElseThrow(() -> {
-                                log.info("getAllItemsOfOwner - item in stream not found");
-                                throw new NotFoundException("Ошибка в работе стрима: " +
-                                        "не найден совпадающий id для Item");
-                            });
-
-                    addAllBookingsToAllItemDto(itemResponseDto, lastBookings, currentBookings, nextBookings);
-
-                    itemResponseDto.setComments(commentsOfItems.stream()
-                            .filter(comment -> comment.getItem().getId().equals(item.getId()))
-                            .map(CommentMapper::mapCommentToDto)
-                            .collect(Collectors.toUnmodifiableList()));
-                })
-                .collect(Collectors.toUnmodifiableList());
+    @Transactional(readOnly = true)
+    public List<FreeIntervalDto> getItemAvailability(Long id, LocalDateTime from, LocalDateTime to, Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.info("getItemAvailability - user id not found: {}", userId);
+            throw new NotFoundException("Пользователя с данным id не существует.");
+        }
+        if (itemRepository.findById(id).isEmpty()) {
+            log.info("getItemAvailability - item id not found: {}", id);
+            throw new NotFoundException("Вещи с данным id не существует.");
+        }
+        if (!to.isAfter(from)) {
+            log.info("getItemAvailability - period end {} is not after start {}", to, from);
+            throw new IllegalArgumentException("Конец периода должен быть позже его начала.");
+        }
+
+        if (bookingIntervalIndex.isEnabled()) {
+            return collectFreeIntervals(bookingIntervalIndex.findApprovedIntervals(id, from, to).iterator(), from, to);
+        }
+        try (Stream<BookingInterval> bookedIntervals =
+                     bookingRepository.streamIntervalsByItemIdAndStatus(id, BookingStatus.APPROVED, from, to)) {
+            return collectFreeIntervals(bookedIntervals.iterator(), from, to);
+        }
     }
 
     public Collection<ItemResponseDto> searchItemsByText(String text, int from, int size) {
@@ -173,11 +247,44 @@ public class ItemService {
             return new ArrayList<>();
         }
 
+        if (itemSearchIndex.isEnabled()) {
+            List<Long> foundIds = itemSearchIndex.search(text, (long) (from > 0 ? from / size : 0) * size, size);
+            Map<Long, Item> foundItems = itemRepository.findAllById(foundIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+            return foundIds.stream()
+                    .map(foundItems::get)
+                    .filter(Objects::nonNull)
+                    .map(ItemMapper::mapItemToDto)
+                    .collect(Collectors.toUnmodifiableList());
+        }
+
         return itemRepository.searchItemsByText(text, PageRequest.of(from > 0 ? from / size : 0, size)).stream()
                 .map(ItemMapper::mapItemToDto)
                 .collect(Collectors.toUnmodifiableList());
     }
 
+    public Collection<ItemResponseDto> searchFreeItemsByText(String text, LocalDateTime start, LocalDateTime end,
+                                                             int from, int size) {
+        if (start == null || end == null) {
+            log.info("searchFreeItemsByText - period is not complete, start: {}, end: {}", start, end);
+            throw new IllegalArgumentException("Необходимо указать начало и конец периода.");
+        }
+        if (!end.isAfter(start)) {
+            log.info("searchFreeItemsByText - period end {} is not after start {}", end, start);
+            throw new IllegalArgumentException("Конец периода должен быть позже его начала.");
+        }
+
+        if (text.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        return itemRepository.searchFreeItemsByText(text, start, end, PageRequest.of(from > 0 ? from / size : 0, size))
+                .stream()
+                .map(ItemMapper::mapItemToDto)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
     public CommentDto createComment(CommentDto commentDto, Long id, Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> {
             log.info("createComment - user not found, id: {}", userId);
@@ -201,66 +308,55 @@ public class ItemService {
         }
     }
 
-    private void addLastAndNextBookingToItemDto(Item item, ItemResponseDto itemResponseDto) {
-        Set<BookingStatus> allowableStatuses = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
-
-        BookingShort lastBooking =
-                bookingRepository.findFirstByItemAndStartBeforeAndEndAfterAndStatusInOrderByStartAsc(
-                        item, LocalDateTime.now(), LocalDateTime.now(), allowableStatuses);
-
-        if (lastBooking == null) {
-            lastBooking = bookingRepository.findFirstByItemAndEndBeforeAndStatusInOrderByEndDesc(
-                    item, LocalDateTime.now(), allowableStatuses);
+    private List<ItemResponseDto> assembleItemsOfOwner(List<Item> itemsOfOwner) {
+        if (itemsOfOwner.isEmpty()) {
+            return List.of();
         }
 
-        BookingShort nextBooking = bookingRepository.findFirstByItemAndStartAfterAndStatusInOrderByStartAsc(
-                item, LocalDateTime.now(), allowableStatuses);
-
-        if (lastBooking != null) {
-            itemResponseDto.setLastBooking(
-                    new BookingForItemDto(lastBooking.getId(), lastBooking.getBooker().getId()));
-        }
-        if (nextBooking != null) {
-            itemResponseDto.setNextBooking(
-                    new BookingForItemDto(nextBooking.getId(), nextBooking.getBooker().getId()));
-        }
-    }
+        List<NearestBooking> nearestBookings = findLastAndNextBookings(
+                itemsOfOwner.stream().map(Item::getId).collect(Collectors.toUnmodifiableList()));
 
-    private void addAllBookingsToAllItemDto(ItemResponseDto itemResponseDto, List<Booking> lastBookings,
-                                            List<Booking> currentBookings, List<Booking> nextBookings) {
-        Booking lastBooking = null;
-        List<Booking> oneLastBooking = currentBookings.stream()
-                .filter((Booking b) -> b.getItem().getId().equals(itemResponseDto.getId()))
-                .collect(Collectors.toList());
-        if (oneLastBooking.size() > 0) {
-            lastBooking = oneLastBooking.get(0);
-        }
+        List<Comment> commentsOfItems = commentRepository.findByItemIn(itemsOfOwner);
 
-        if (lastBooking == null) {
-            oneLastBooking = lastBookings.stream()
-                    .filter((Booking b) -> b.getItem().getId().equals(itemResponseDto.getId()))
-                    .collect(Collectors.toList());
+        return ItemAssembler.assembleItemsOfOwner(itemsOfOwner, nearestBookings, commentsOfItems);
+    }
 
-            if (oneLastBooking.size() > 0) {
-                lastBooking = oneLastBooking.get(0);
+    private void addLastAndNextBookingToItemDto(Item item, ItemResponseDto itemResponseDto) {
+        List<NearestBooking> nearestBookings = findLastAndNextBookings(List.of(item.getId()));
+
+        for (NearestBooking nearestBooking : nearestBookings) {
+            BookingForItemDto booking = new BookingForItemDto(nearestBooking.getId(), nearestBooking.getBookerId());
+            if (nearestBooking.getIsNext()) {
+                itemResponseDto.setNextBooking(booking);
+            } else {
+                itemResponseDto.setLastBooking(booking);
             }
         }
+    }
 
-        Booking nextBooking = null;
-        List<Booking> oneNextBooking = nextBookings.stream()
-                .filter((Booking b) -> b.getItem().getId().equals(itemResponseDto.getId()))
-                .collect(Collectors.toList());
-        if (oneNextBooking.size() > 0) {
-            nextBooking = oneNextBooking.get(0);
+    private List<NearestBooking> findLastAndNextBookings(List<Long> itemIds) {
+        if (bookingIntervalIndex.isEnabled()) {
+            return bookingIntervalIndex.findLastAndNextBookings(itemIds, LocalDateTime.now());
         }
+        return bookingRepository.findLastAndNextBookings(itemIds, LocalDateTime.now(), ALLOWABLE_STATUS_IDS);
+    }
 
-        if (lastBooking != null) {
-            itemResponseDto.setLastBooking(
-                    new BookingForItemDto(lastBooking.getId(), lastBooking.getBooker().getId()));
+    private static List<FreeIntervalDto> collectFreeIntervals(Iterator<BookingInterval> bookedIntervals,
+                                                              LocalDateTime from, LocalDateTime to) {
+        List<FreeIntervalDto> freeIntervals = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        while (bookedIntervals.hasNext() && freeFrom.isBefore(to)) {
+            BookingInterval bookedInterval = bookedIntervals.next();
+            if (bookedInterval.getStart().isAfter(freeFrom)) {
+                freeIntervals.add(new FreeIntervalDto(freeFrom, bookedInterval.getStart()));
+            }
+            if (bookedInterval.getEnd().isAfter(freeFrom)) {
+                freeFrom = bookedInterval.getEnd();
+            }
         }
-        if (nextBooking != null) {
-            itemResponseDto.setNextBooking(
-                    new BookingForItemDto(nextBooking.getId(), nextBooking.getBooker().getId()));
+        if (freeFrom.isBefore(to)) {
+            freeIntervals.add(new FreeIntervalDto(freeFrom, to));
         }
+        return freeIntervals;
     }
 }
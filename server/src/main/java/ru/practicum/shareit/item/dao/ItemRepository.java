@@ -1,27 +1,61 @@
 package ru.practicum.shareit.item.dao;
 
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.config.CachingConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Page<Item> findByOwnerOrderByIdAsc(User user, Pageable pageable);
+    @Override
+    @Cacheable(cacheNames = CachingConfig.ITEMS, unless = "#result == null")
+    Optional<Item> findById(Long id);
 
-    List<Item> findByOwner(User user);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in ?1 order by i.id")
+    List<Item> findAllByIdForUpdate(Collection<Long> ids);
+
+    List<Item> findByOwnerOrderByIdAsc(User user, Pageable pageable);
+
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long id, Pageable pageable);
+
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    @Query("select i from Item i " +
+            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "and i.isAvailable = true " +
+            "order by case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    List<Item> searchItemsByText(String text, Pageable pageable);
 
     @Query("select i from Item i " +
             "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
             "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
-            "and i.isAvailable = true")
-    Page<Item> searchItemsByText(String text, Pageable pageable);
+            "and i.isAvailable = true " +
+            "and not exists (select b.id from Booking b " +
+            "where b.item = i " +
+            "and b.status = ru.practicum.shareit.booking.enums.BookingStatus.APPROVED " +
+            "and b.start < ?3 and b.end > ?2) " +
+            "order by case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    List<Item> searchFreeItemsByText(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    List<Item> findByIsAvailableTrue();
 
     List<Item> findByItemRequestIn(Collection<ItemRequest> itemRequests);
 
@@ -0,0 +1,218 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.transaction.TransactionHooks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+    private final TreeMap<Long, IndexedItem> indexedItems = new TreeMap<>();
+
+    @Autowired
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.item-search-index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Item> availableItems = itemRepository.findByIsAvailableTrue();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            indexedItems.clear();
+            availableItems.forEach(item -> add(item.getId(), toIndexedItem(item)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("rebuild - indexed {} available items", availableItems.size());
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+
+        Long id = item.getId();
+        IndexedItem indexedItem = Boolean.TRUE.equals(item.getIsAvailable()) ? toIndexedItem(item) : null;
+        TransactionHooks.runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                if (indexedItem != null) {
+                    add(id, indexedItem);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeItemsOfOwner(Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+
+        TransactionHooks.runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                List<Long> ownerItemIds = new ArrayList<>();
+                indexedItems.forEach((id, indexedItem) -> {
+                    if (ownerId.equals(indexedItem.ownerId)) {
+                        ownerItemIds.add(id);
+                    }
+                });
+                ownerItemIds.forEach(this::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<Long> search(String text, long offset, int limit) {
+        String query = normalize(text);
+        List<Long> nameMatches = new ArrayList<>();
+        List<Long> descriptionMatches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM_LENGTH) {
+                indexedItems.forEach((id, indexedItem) ->
+                        collectMatch(id, indexedItem, query, nameMatches, descriptionMatches));
+            } else {
+                LongPostingList shortest = null;
+                List<LongPostingList> queryPostings = new ArrayList<>();
+                for (String gram : grams(query)) {
+                    LongPostingList posting = postings.get(gram);
+                    if (posting == null) {
+                        return List.of();
+                    }
+                    queryPostings.add(posting);
+                    if (shortest == null || posting.size() < shortest.size()) {
+                        shortest = posting;
+                    }
+                }
+
+                for (int i = 0; i < shortest.size(); i++) {
+                    long id = shortest.get(i);
+                    if (containedInAll(id, queryPostings)) {
+                        collectMatch(id, indexedItems.get(id), query, nameMatches, descriptionMatches);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        nameMatches.addAll(descriptionMatches);
+        if (offset >= nameMatches.size()) {
+            return List.of();
+        }
+        return List.copyOf(nameMatches.subList((int) offset, (int) Math.min(nameMatches.size(), offset + limit)));
+    }
+
+    private void add(Long id, IndexedItem indexedItem) {
+        indexedItems.put(id, indexedItem);
+
+        Set<String> itemGrams = grams(indexedItem.name);
+        itemGrams.addAll(grams(indexedItem.description));
+        itemGrams.forEach(gram -> postings.computeIfAbsent(gram, key -> new LongPostingList()).add(id));
+    }
+
+    private void remove(Long id) {
+        IndexedItem indexedItem = indexedItems.remove(id);
+        if (indexedItem == null) {
+            return;
+        }
+
+        Set<String> itemGrams = grams(indexedItem.name);
+        itemGrams.addAll(grams(indexedItem.description));
+        for (String gram : itemGrams) {
+            LongPostingList posting = postings.get(gram);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static IndexedItem toIndexedItem(Item item) {
+        return new IndexedItem(item.getOwner().getId(), normalize(item.getName()), normalize(item.getDescription()));
+    }
+
+    private static boolean containedInAll(long id, List<LongPostingList> queryPostings) {
+        for (LongPostingList posting : queryPostings) {
+            if (!posting.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collectMatch(long id, IndexedItem indexedItem, String query,
+                                     List<Long> nameMatches, List<Long> descriptionMatches) {
+        if (indexedItem.name.contains(query)) {
+            nameMatches.add(id);
+        } else if (indexedItem.description.contains(query)) {
+            descriptionMatches.add(id);
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static class IndexedItem {
+        private final Long ownerId;
+        private final String name;
+        private final String description;
+
+        private IndexedItem(Long ownerId, String name, String description) {
+            this.ownerId = ownerId;
+            this.name = name;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class KeysetCursor {
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor parse(String after) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(',');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Некорректный курсор пагинации: " + after);
+            }
+
+            return new KeysetCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Некорректный курсор пагинации: " + after);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+public final class KeysetPage {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static <T> ResponseEntity<Collection<T>> of(Collection<T> page, int size,
+                                                       Function<T, KeysetCursor> cursorOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (size > 0 && page.size() == size) {
+            page.stream()
+                    .skip(size - 1)
+                    .findFirst()
+                    .ifPresent(last -> response.header(NEXT_CURSOR_HEADER, cursorOf.apply(last).encode()));
+        }
+        return response.body(page);
+    }
+}
@@ -2,8 +2,12 @@ package ru.practicum.shareit.request;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.KeysetPage;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfResponse;
 
@@ -15,10 +19,12 @@ import java.util.Collection;
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
     private final ItemRequestService itemRequestService;
+    private final CacheControl getByIdCacheControl;
 
     @Autowired
-    public ItemRequestController(ItemRequestService itemRequestService) {
+    public ItemRequestController(ItemRequestService itemRequestService, CacheControl getByIdCacheControl) {
         this.itemRequestService = itemRequestService;
+        this.getByIdCacheControl = getByIdCacheControl;
     }
 
     @PostMapping
@@ -36,16 +42,24 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public Collection<ItemRequestDtoOfResponse> getAllItemRequests(
+    public ResponseEntity<Collection<ItemRequestDtoOfResponse>> getAllItemRequests(
             @RequestParam(value = "from", defaultValue = "0") int from,
             @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "after", required = false) String after,
             @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        return itemRequestService.getAllItemRequests(from, size, userId, false);
+        Collection<ItemRequestDtoOfResponse> itemRequests = after != null
+                ? itemRequestService.getAllItemRequestsAfter(KeysetCursor.parse(after), size, userId)
+                : itemRequestService.getAllItemRequests(from, size, userId, false);
+        return KeysetPage.of(itemRequests, size, ItemRequestMapper::mapDtoToCursor);
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestDtoOfResponse getItemRequestById(@PathVariable(value = "requestId") Long id,
-                                                       @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
-        return itemRequestService.getItemRequestById(id, userId);
+    public ResponseEntity<ItemRequestDtoOfResponse> getItemRequestById(
+            @PathVariable(value = "requestId") Long id,
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+        return ResponseEntity.ok()
+                .cacheControl(getByIdCacheControl)
+                .varyBy("X-Sharer-User-Id")
+                .body(itemRequestService.getItemRequestById(id, userId));
     }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfResponse;
 import ru.practicum.shareit.user.User;
@@ -19,4 +20,8 @@ public final class ItemRequestMapper {
                 .created(itemRequest.getCreated())
                 .build();
     }
+
+    public static KeysetCursor mapDtoToCursor(ItemRequestDtoOfResponse itemRequestDtoOfResponse) {
+        return new KeysetCursor(itemRequestDtoOfResponse.getCreated(), itemRequestDtoOfResponse.getId());
+    }
 }
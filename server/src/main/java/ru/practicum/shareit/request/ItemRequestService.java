@@ -8,6 +8,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfResponse;
@@ -50,33 +51,32 @@ public class ItemRequestService {
 
     public Collection<ItemRequestDtoOfResponse> getAllItemRequests(int from, int size, Long userId,
                                                                    boolean isItemRequestsOfApplicant) {
-        User user = userRepository.findById(userId).orElseThrow(() -> {
+        if (!userRepository.existsById(userId)) {
             log.info("getAllItemRequests - user id not found: {}", userId);
             throw new NotFoundException("Пользователя с данным id не существует.");
-        });
+        }
+        User user = userRepository.getReferenceById(userId);
 
         List<ItemRequest> allItemRequests;
         if (isItemRequestsOfApplicant) {
             allItemRequests = itemRequestRepository.findByApplicantOrderByCreatedDesc(user);
         } else {
-            allItemRequests = itemRequestRepository
-                    .findByApplicantNotOrderByCreatedDesc(user, PageRequest.of(from > 0 ? from / size : 0, size))
-                    .getContent();
+            allItemRequests = itemRequestRepository.findByApplicantNotOrderByCreatedDescIdDesc(user,
+                    PageRequest.of(from > 0 ? from / size : 0, size));
         }
 
-        Map<Long, List<ItemResponseDto>> requestedItems =
-                itemRepository.findByItemRequestIn(allItemRequests).stream()
-                        .map(ItemMapper::mapItemToDto)
-                        .collect(groupingBy(ItemResponseDto::getRequestId));
+        return mapItemRequestsWithItems(allItemRequests);
+    }
 
-        return allItemRequests.stream()
-                .map(ItemRequestMapper::mapItemRequestToDto)
-                .peek(itemRequestDtoOfResponse -> {
-                    List<ItemResponseDto> items =
-                            requestedItems.getOrDefault(itemRequestDtoOfResponse.getId(), Collections.emptyList());
-                    itemRequestDtoOfResponse.setItems(items);
-                })
-                .collect(Collectors.toUnmodifiableList());
+    public Collection<ItemRequestDtoOfResponse> getAllItemRequestsAfter(KeysetCursor after, int size, Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.info("getAllItemRequestsAfter - user id not found: {}", userId);
+            throw new NotFoundException("Пользователя с данным id не существует.");
+        }
+        User user = userRepository.getReferenceById(userId);
+
+        return mapItemRequestsWithItems(itemRequestRepository
+                .findByApplicantNotAfter(user, after.getTimestamp(), after.getId(), PageRequest.of(0, size)));
     }
 
     public ItemRequestDtoOfResponse getItemRequestById(Long id, Long userId) {
@@ -84,10 +84,10 @@ public class ItemRequestService {
             log.info("getItemRequestById - item request id not found: {}", id);
             throw new NotFoundException("Запроса с данным id не существует.");
         });
-        userRepository.findById(userId).orElseThrow(() -> {
+        if (!userRepository.existsById(userId)) {
             log.info("getItemRequestById - user id not found: {}", userId);
             throw new NotFoundException("Пользователя с данным id не существует.");
-        });
+        }
 
         List<ItemResponseDto> requestedItems =
                 itemRepository.findByItemRequestIn(List.of(itemRequest)).stream()
@@ -98,4 +98,20 @@ public class ItemRequestService {
         itemRequestDto.setItems(requestedItems);
         return itemRequestDto;
     }
+
+    private List<ItemRequestDtoOfResponse> mapItemRequestsWithItems(List<ItemRequest> itemRequests) {
+        Map<Long, List<ItemResponseDto>> requestedItems =
+                itemRepository.findByItemRequestIn(itemRequests).stream()
+                        .map(ItemMapper::mapItemToDto)
+                        .collect(groupingBy(ItemResponseDto::getRequestId));
+
+        return itemRequests.stream()
+                .map(ItemRequestMapper::mapItemRequestToDto)
+                .peek(itemRequestDtoOfResponse -> {
+                    List<ItemResponseDto> items =
+                            requestedItems.getOrDefault(itemRequestDtoOfResponse.getId(), Collections.emptyList());
+                    itemRequestDtoOfResponse.setItems(items);
+                })
+                .collect(Collectors.toUnmodifiableList());
+    }
 }
@@ -1,17 +1,24 @@
 package ru.practicum.shareit.request.dao;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     List<ItemRequest> findByApplicantOrderByCreatedDesc(User user);
 
-    Page<ItemRequest> findByApplicantNotOrderByCreatedDesc(User user, Pageable pageable);
+    List<ItemRequest> findByApplicantNotOrderByCreatedDescIdDesc(User user, Pageable pageable);
+
+    @Query("select r from ItemRequest r " +
+            "where r.applicant <> ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findByApplicantNotAfter(User user, LocalDateTime created, Long id, Pageable pageable);
 
 }
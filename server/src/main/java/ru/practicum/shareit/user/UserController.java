@@ -2,6 +2,8 @@ package ru.practicum.shareit.user;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -12,10 +14,12 @@ import java.util.Collection;
 @Slf4j
 public class UserController {
     private final UserService userService;
+    private final CacheControl getByIdCacheControl;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, CacheControl getByIdCacheControl) {
         this.userService = userService;
+        this.getByIdCacheControl = getByIdCacheControl;
     }
 
     @PostMapping
@@ -32,8 +36,10 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public UserDto getUserById(@PathVariable(value = "id") Long id) {
-        return userService.getUserById(id);
+    public ResponseEntity<UserDto> getUserById(@PathVariable(value = "id") Long id) {
+        return ResponseEntity.ok()
+                .cacheControl(getByIdCacheControl)
+                .body(userService.getUserById(id));
     }
 
     @PatchMapping("/{id}")
@@ -2,26 +2,40 @@ package ru.practicum.shareit.user;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.config.CachingConfig;
 import ru.practicum.shareit.exception.AlreadyExistException;
 import ru.practicum.shareit.exception.NoBodyInRequestException;
 import ru.practicum.shareit.exception.NoIdInRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ItemRepository itemRepository,
+                       BookingIntervalIndex bookingIntervalIndex, ItemSearchIndex itemSearchIndex) {
         this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.itemSearchIndex = itemSearchIndex;
     }
 
     public UserDto createUser(UserDto userDto) {
@@ -46,6 +60,7 @@ public class UserService {
         }));
     }
 
+    @CacheEvict(cacheNames = CachingConfig.USERS, key = "#userDto.id")
     public UserDto updateUser(UserDto userDto, Long id) {
         if (userDto.getId() == null && id != null) {
             userDto.setId(id);
@@ -79,12 +94,20 @@ public class UserService {
         }
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfig.USERS, key = "#id"),
+            @CacheEvict(cacheNames = CachingConfig.USER_IDS, key = "#id"),
+            @CacheEvict(cacheNames = CachingConfig.ITEMS, allEntries = true)
+    })
     public void removeUser(Long id) {
         User user = userRepository.findById(id).orElseThrow(() -> {
             log.info("removeUser - user id '{}' not found", id);
             throw new NotFoundException("Пользователя с данным id не существует.");
         });
+        List<Long> ownedItemIds = bookingIntervalIndex.isEnabled() ? itemRepository.findIdsByOwnerId(id) : List.of();
         userRepository.deleteById(id);
+        bookingIntervalIndex.removeBookingsOfUser(id, ownedItemIds);
+        itemSearchIndex.removeItemsOfOwner(id);
         log.info("removeUser - user with email \"{}\" and id {} was removed.", user.getEmail(), id);
     }
 }
@@ -1,7 +1,19 @@
 package ru.practicum.shareit.user.dao;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.config.CachingConfig;
 import ru.practicum.shareit.user.User;
 
+import java.util.Optional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Override
+    @Cacheable(cacheNames = CachingConfig.USERS, unless = "#result == null")
+    Optional<User> findById(Long id);
+
+    @Override
+    @Cacheable(cacheNames = CachingConfig.USER_IDS, unless = "!#result")
+    boolean existsById(Long id);
 }
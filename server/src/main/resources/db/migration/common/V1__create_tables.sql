@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS comments, bookings, items, item_requests, users;
-
 CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
   name VARCHAR(50) NOT NULL,
@@ -37,4 +35,4 @@ CREATE TABLE IF NOT EXISTS comments (
   item_id BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE ON UPDATE CASCADE,
   author_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE ON UPDATE CASCADE,
   created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
\ No newline at end of file
+);
@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_date_idx ON bookings (booker_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_id_start_date_idx ON bookings (item_id, status_id, start_date);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_end_date_idx ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_id_idx ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS comments_item_id_idx ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS item_requests_applicant_id_created_at_idx ON item_requests (applicant_id, created_at DESC);
@@ -0,0 +1,5 @@
+ALTER SEQUENCE users_seq INCREMENT BY 50;
+ALTER SEQUENCE item_requests_seq INCREMENT BY 50;
+ALTER SEQUENCE items_seq INCREMENT BY 50;
+ALTER SEQUENCE bookings_seq INCREMENT BY 50;
+ALTER SEQUENCE comments_seq INCREMENT BY 50;
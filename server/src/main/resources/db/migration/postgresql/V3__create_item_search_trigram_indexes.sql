@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING GIN (UPPER(name) gin_trgm_ops) WHERE is_available;
+
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING GIN (UPPER(description) gin_trgm_ops)
+  WHERE is_available;
@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap
+  EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status_id = 1);
@@ -0,0 +1,3 @@
+ALTER SEQUENCE items_seq INCREMENT BY 50;
+
+SELECT setval('items_seq', COALESCE(MAX(id), 0) + 50, false) FROM items;
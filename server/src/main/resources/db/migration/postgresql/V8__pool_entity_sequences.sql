@@ -0,0 +1,15 @@
+ALTER SEQUENCE users_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+
+ALTER SEQUENCE item_requests_seq INCREMENT BY 50;
+
+SELECT setval('item_requests_seq', COALESCE(MAX(id), 0) + 50, false) FROM item_requests;
+
+ALTER SEQUENCE bookings_seq INCREMENT BY 50;
+
+SELECT setval('bookings_seq', COALESCE(MAX(id), 0) + 50, false) FROM bookings;
+
+ALTER SEQUENCE comments_seq INCREMENT BY 50;
+
+SELECT setval('comments_seq', COALESCE(MAX(id), 0) + 50, false) FROM comments;
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dao.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class BookingContentionBenchmark {
+    private static final int SLOTS = 1_000;
+
+    @Param({"1", "32"})
+    private int hotItems;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Long[] itemIds;
+    private Long bookerId;
+    private LocalDateTime timelineStart;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        bookingService = context.getBean(BookingService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+
+        User owner = userRepository.save(new User(null, "Fredie", "jodelle_zajacr9jm@wonder.ed"));
+        bookerId = userRepository.save(new User(null, "Aarion", "lenny_friedmanhpxd@send.nx")).getId();
+        timelineStart = LocalDateTime.now().plusDays(1);
+        itemIds = new Long[hotItems];
+        for (int i = 0; i < hotItems; i++) {
+            itemIds[i] = itemRepository.save(new Item(null, "item " + i, "hot item", true, owner, null)).getId();
+            for (int slot = 0; slot < SLOTS; slot += 2) {
+                Long bookingId = bookingService.createBooking(new BookingRequestDto(itemIds[i],
+                        slotStart(slot), slotStart(slot).plusMinutes(30)), bookerId).getId();
+                bookingService.approveBookingByOwner(bookingId, true, owner.getId());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void createBooking(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = slotStart(random.nextInt(SLOTS));
+        try {
+            blackhole.consume(bookingService.createBooking(new BookingRequestDto(itemIds[random.nextInt(hotItems)],
+                    start, start.plusMinutes(30)), bookerId));
+        } catch (BookingOverlapException exception) {
+            blackhole.consume(exception);
+        }
+    }
+
+    private LocalDateTime slotStart(int slot) {
+        return timelineStart.plusHours(slot);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingContentionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
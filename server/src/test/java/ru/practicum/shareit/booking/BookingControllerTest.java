@@ -8,16 +8,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemForBookingDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.KeysetPage;
 import ru.practicum.shareit.user.dto.UserForBookingDto;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -25,6 +31,8 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -86,6 +94,64 @@ class BookingControllerTest {
         verify(bookingService).approveBookingByOwner(bookingId, true, 1L);
     }
 
+    @Test
+    @SneakyThrows
+    void approveBookingByOwner_whenExclusionConstraintViolated_thenResponseStatusConflict() {
+        Long bookingId = 1L;
+        SQLException exclusionViolation = new SQLException(
+                "conflicting key value violates exclusion constraint \"bookings_approved_no_overlap\"", "23P01");
+
+        when(bookingService.approveBookingByOwner(bookingId, true, 1L))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", exclusionViolation));
+
+        mvc.perform(patch("/bookings/{bookingId}", bookingId)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("approved", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Вещь уже забронирована на выбранный период."));
+    }
+
+    @Test
+    @SneakyThrows
+    void approveBookingByOwner_whenOtherIntegrityViolation_thenResponseStatusInternalServerError() {
+        Long bookingId = 1L;
+
+        when(bookingService.approveBookingByOwner(bookingId, true, 1L))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("null value in column \"status\"", "23502")));
+
+        mvc.perform(patch("/bookings/{bookingId}", bookingId)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("approved", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    @SneakyThrows
+    void approveBookingsByOwner_whenInvoked_thenResponseStatusOkWithResultsInBody() {
+        BookingBatchRequestDto bookingBatchRequestDto = new BookingBatchRequestDto(List.of(1L, 2L));
+        List<BookingBatchResultDto> results = List.of(new BookingBatchResultDto(1L, BookingStatus.APPROVED, null),
+                new BookingBatchResultDto(2L, null, "Бронирования с данным id не существует."));
+
+        when(bookingService.approveBookingsByOwner(List.of(1L, 2L), true, 1L)).thenReturn(results);
+
+        mvc.perform(patch("/bookings/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(bookingBatchRequestDto))
+                        .header("X-Sharer-User-Id", 1)
+                        .param("approved", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(results)));
+
+        verify(bookingService, never()).approveBookingByOwner(anyLong(), any(), anyLong());
+    }
+
     @Test
     @SneakyThrows
     void getBookingById_whenInvoked_thenResponseStatusOkWithResponseDtoInBody() {
@@ -194,4 +260,71 @@ class BookingControllerTest {
 
         verify(bookingService, never()).getAllBookingsForItemsOfOwner(any(), anyInt(), anyInt(), anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getAllBookingsForItemsOfOwner_whenAfterIsValid_thenResponseStatusOkWithBookingsAfterCursorInBody() {
+        BookingState bookingState = BookingState.PAST;
+        bookingResponseDto = new BookingResponseDto(1L, LocalDateTime.now().minusHours(3),
+                LocalDateTime.now().minusHours(2), new ItemForBookingDto(1L, "ball"), new UserForBookingDto(1L),
+                BookingStatus.APPROVED);
+        KeysetCursor after = new KeysetCursor(LocalDateTime.of(2023, 3, 1, 12, 0), 5L);
+
+        when(bookingService.getAllBookingsForItemsOfOwnerAfter(bookingState, after, 2, 1L))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .param("state", bookingState.toString())
+                        .param("size", "2")
+                        .param("after", after.encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingResponseDto))));
+
+        verify(bookingService, never()).getAllBookingsForItemsOfOwner(any(), anyInt(), anyInt(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllBookingsOfUser_whenPageOfPastBookingsIsFull_thenNextCursorHeaderPointsToEndOfLastBooking() {
+        BookingState bookingState = BookingState.PAST;
+        UserForBookingDto booker = new UserForBookingDto(1L);
+        bookingResponseDto = new BookingResponseDto(2L, LocalDateTime.of(2023, 3, 1, 10, 0),
+                LocalDateTime.of(2023, 3, 1, 12, 0), new ItemForBookingDto(1L, "ball"), booker,
+                BookingStatus.APPROVED);
+        BookingResponseDto bookingResponseDto2 = new BookingResponseDto(1L, LocalDateTime.of(2023, 2, 1, 10, 0),
+                LocalDateTime.of(2023, 2, 1, 12, 0), new ItemForBookingDto(2L, "basket"), booker,
+                BookingStatus.APPROVED);
+
+        when(bookingService.getAllBookingsOfUser(bookingState, 0, 2, 1L))
+                .thenReturn(List.of(bookingResponseDto, bookingResponseDto2));
+
+        mvc.perform(get("/bookings")
+                        .param("state", bookingState.toString())
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPage.NEXT_CURSOR_HEADER,
+                        new KeysetCursor(LocalDateTime.of(2023, 2, 1, 12, 0), 1L).encode()));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllBookingsOfUser_whenAfterIsNotValid_thenResponseStatusBadRequest() {
+        mvc.perform(get("/bookings")
+                        .param("state", "ALL")
+                        .param("size", "2")
+                        .param("after", "5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).getAllBookingsOfUserAfter(any(), any(), anyInt(), anyLong());
+    }
+}
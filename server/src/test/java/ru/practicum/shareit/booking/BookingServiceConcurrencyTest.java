@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.exception.AlreadyDoneException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dao.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Sql(value = {"classpath:testDataAfterMethod.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class BookingServiceConcurrencyTest {
+    private static final int THREADS = 16;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    @Test
+    void approveBookingByOwner_whenOverlappingBookingsApprovedConcurrently_thenOnlyOneApproved() throws Exception {
+        User owner = userRepository.save(new User(null, "Fredie", "jodelle_zajacr9jm@wonder.ed"));
+        Item item = itemRepository.save(new Item(null, "lamp", "lamp description", true, owner, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            User booker = userRepository.save(new User(null, "Booker" + i, "booker" + i + "@mail.ru"));
+            bookingIds.add(bookingService.createBooking(
+                    new BookingRequestDto(item.getId(), start.plusMinutes(i), start.plusHours(2)),
+                    booker.getId()).getId());
+        }
+
+        List<Callable<Object>> approvals = new ArrayList<>();
+        bookingIds.forEach(id -> approvals.add(() -> bookingService.approveBookingByOwner(id, true, owner.getId())));
+        List<Throwable> failures = runConcurrently(approvals);
+
+        assertThat(failures.size(), equalTo(THREADS - 1));
+        failures.forEach(failure -> assertThat(failure, instanceOf(BookingOverlapException.class)));
+        assertThat(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count(), equalTo(1L));
+    }
+
+    @Test
+    void approveBookingByOwner_whenSameBookingApprovedAndRejectedConcurrently_thenOnlyOneStatusChangeWins()
+            throws Exception {
+        User owner = userRepository.save(new User(null, "Fredie", "jodelle_zajacr9jm@wonder.ed"));
+        User booker = userRepository.save(new User(null, "Aarion", "lenny_friedmanhpxd@send.nx"));
+        Item item = itemRepository.save(new Item(null, "lamp", "lamp description", true, owner, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Long bookingId = bookingService.createBooking(
+                new BookingRequestDto(item.getId(), start, start.plusHours(2)), booker.getId()).getId();
+
+        List<Callable<Object>> decisions = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean isApproved = i % 2 == 0;
+            decisions.add(() -> bookingService.approveBookingByOwner(bookingId, isApproved, owner.getId()));
+        }
+        List<Throwable> failures = runConcurrently(decisions);
+
+        assertThat(failures.size(), equalTo(THREADS - 1));
+        failures.forEach(failure -> assertThat(failure, anyOf(instanceOf(AlreadyDoneException.class),
+                instanceOf(BookingOverlapException.class))));
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus(),
+                not(equalTo(BookingStatus.WAITING)));
+    }
+
+    @Test
+    void createBooking_whenApprovedBookingOverlaps_thenConcurrentRequestsRejected() throws Exception {
+        User owner = userRepository.save(new User(null, "Fredie", "jodelle_zajacr9jm@wonder.ed"));
+        User booker = userRepository.save(new User(null, "Aarion", "lenny_friedmanhpxd@send.nx"));
+        Item item = itemRepository.save(new Item(null, "lamp", "lamp description", true, owner, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Long approvedId = bookingService.createBooking(
+                new BookingRequestDto(item.getId(), start, start.plusHours(2)), booker.getId()).getId();
+        bookingService.approveBookingByOwner(approvedId, true, owner.getId());
+
+        List<Callable<Object>> creations = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDateTime requestedStart = start.plusMinutes(i);
+            creations.add(() -> bookingService.createBooking(
+                    new BookingRequestDto(item.getId(), requestedStart, requestedStart.plusHours(1)),
+                    booker.getId()));
+        }
+        List<Throwable> failures = runConcurrently(creations);
+
+        assertThat(failures.size(), equalTo(THREADS));
+        failures.forEach(failure -> assertThat(failure, instanceOf(BookingOverlapException.class)));
+        assertThat(bookingRepository.count(), equalTo(1L));
+    }
+
+    private List<Throwable> runConcurrently(List<Callable<Object>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Throwable> failures = new ArrayList<>();
+        try {
+            for (Future<Object> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException exception) {
+                    failures.add(exception.getCause());
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        return failures;
+    }
+}
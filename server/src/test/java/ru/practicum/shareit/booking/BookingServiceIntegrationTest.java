@@ -8,6 +8,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -40,22 +41,22 @@ class BookingServiceIntegrationTest {
 
     @Test
     void createBooking_whenUserAndItemFoundAndBookerIsNotOwnerAndItemIsAvailable_thenShouldSaveBooking() {
-        User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User booker = new User(null, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User user = new User(null, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        Item item = new Item(null, "lamp", "lamp description", true, user, null);
+        userRepository.saveAll(List.of(user, booker));
+        itemRepository.save(item);
         Long userId = booker.getId();
-        User user = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
-        Item item = new Item(1L, "lamp", "lamp description", true, user, null);
         BookingRequestDto bookingDto = new BookingRequestDto(item.getId(), LocalDateTime.now().minusHours(1),
                 LocalDateTime.now().plusHours(1));
-        userRepository.saveAll(List.of(user, booker));
-        itemRepository.save(item);
 
-        bookingService.createBooking(bookingDto, userId);
+        BookingResponseDto createdBooking = bookingService.createBooking(bookingDto, userId);
 
         TypedQuery<Booking> query =
                 entityManager.createQuery("SELECT b FROM Booking b WHERE b.item = :item", Booking.class);
         Booking bookingAfterSave = query.setParameter("item", item).getSingleResult();
 
-        assertThat(bookingAfterSave.getId(), equalTo(1L));
+        assertThat(bookingAfterSave.getId(), equalTo(createdBooking.getId()));
         assertThat(bookingAfterSave.getStart(), equalTo(bookingDto.getStart()));
         assertThat(bookingAfterSave.getEnd(), equalTo(bookingDto.getEnd()));
         assertThat(bookingAfterSave.getItem(), equalTo(item));
@@ -65,21 +66,21 @@ class BookingServiceIntegrationTest {
 
     @Test
     void getAllBookingsForItemsOfOwner_whenUserFoundAndOwnerHasItemsAndAllState_thenReturnBookingsCollection() {
-        User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User booker = new User(null, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User owner = new User(null, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        Item item = new Item(null, "lamp", "lamp description", true, owner, null);
+        userRepository.saveAll(List.of(owner, booker));
+        itemRepository.save(item);
         Long userId = booker.getId();
-        User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
-        Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
         BookingRequestDto bookingDtoPast = new BookingRequestDto(item.getId(), LocalDateTime.now().minusHours(5),
                 LocalDateTime.now().minusHours(3));
         BookingRequestDto bookingDtoPresent = new BookingRequestDto(item.getId(), LocalDateTime.now().minusHours(1),
                 LocalDateTime.now().plusHours(1));
         BookingRequestDto bookingDtoFuture = new BookingRequestDto(item.getId(), LocalDateTime.now().plusHours(2),
                 LocalDateTime.now().plusHours(5));
-        userRepository.saveAll(List.of(owner, booker));
-        itemRepository.save(item);
-        bookingService.createBooking(bookingDtoFuture, userId);
-        bookingService.createBooking(bookingDtoPresent, userId);
-        bookingService.createBooking(bookingDtoPast, userId);
+        Long futureId = bookingService.createBooking(bookingDtoFuture, userId).getId();
+        Long presentId = bookingService.createBooking(bookingDtoPresent, userId).getId();
+        Long pastId = bookingService.createBooking(bookingDtoPast, userId).getId();
 
         List<BookingResponseDto> returnedBookings =
                 new ArrayList<>(bookingService
@@ -89,11 +90,11 @@ class BookingServiceIntegrationTest {
         List<Booking> bookingsFromDb = query.getResultList();
 
         assertThat(3, allOf(equalTo(bookingsFromDb.size()), equalTo(returnedBookings.size())));
-        assertThat(1L, allOf(equalTo(returnedBookings.get(0).getId()),
+        assertThat(futureId, allOf(equalTo(returnedBookings.get(0).getId()),
                 equalTo(bookingsFromDb.get(0).getId())));
-        assertThat(2L, allOf(equalTo(returnedBookings.get(1).getId()),
+        assertThat(presentId, allOf(equalTo(returnedBookings.get(1).getId()),
                 equalTo(bookingsFromDb.get(1).getId())));
-        assertThat(3L, allOf(equalTo(returnedBookings.get(2).getId()),
+        assertThat(pastId, allOf(equalTo(returnedBookings.get(2).getId()),
                 equalTo(bookingsFromDb.get(2).getId())));
         assertThat(item.getId(),
                 allOf(equalTo(returnedBookings.get(0).getItem().getId()),
@@ -128,4 +129,46 @@ class BookingServiceIntegrationTest {
         assertThat(returnedBookings.get(2).getStatus(), notNullValue());
         assertThat(bookingsFromDb.get(2).getStatus(), notNullValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void approveBookingsByOwner_whenBatchMixesOutcomes_thenReturnResultPerIdAndApproveOnlyFreeBookings() {
+        User owner = new User(null, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        User otherOwner = new User(null, "Darus", "kenika_plummeryps@networks.or");
+        User booker = new User(null, "Aarion", "lenny_friedmanhpxd@send.nx");
+        userRepository.saveAll(List.of(owner, otherOwner, booker));
+        Item lamp = new Item(null, "lamp", "lamp description", true, owner, null);
+        Item chair = new Item(null, "chair", "chair description", true, owner, null);
+        Item ball = new Item(null, "ball", "ball description", true, otherOwner, null);
+        itemRepository.saveAll(List.of(lamp, chair, ball));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking free = new Booking(null, start, start.plusHours(2), lamp, booker, BookingStatus.WAITING);
+        Booking overlapsBatch = new Booking(null, start.plusHours(1), start.plusHours(3), lamp, booker,
+                BookingStatus.WAITING);
+        Booking approved = new Booking(null, start, start.plusHours(2), chair, booker, BookingStatus.APPROVED);
+        Booking overlapsApproved = new Booking(null, start.plusHours(1), start.plusHours(3), chair, booker,
+                BookingStatus.WAITING);
+        Booking foreign = new Booking(null, start, start.plusHours(2), ball, booker, BookingStatus.WAITING);
+        List.of(free, overlapsBatch, approved, overlapsApproved, foreign).forEach(entityManager::persist);
+        entityManager.flush();
+
+        List<BookingBatchResultDto> results = bookingService.approveBookingsByOwner(List.of(free.getId(),
+                overlapsBatch.getId(), approved.getId(), overlapsApproved.getId(), foreign.getId(), 999L), true,
+                owner.getId());
+
+        assertThat(results.size(), equalTo(6));
+        assertThat(results.get(0), equalTo(new BookingBatchResultDto(free.getId(), BookingStatus.APPROVED, null)));
+        assertThat(results.get(1).getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(results.get(1).getError(), equalTo("Вещь уже забронирована на выбранный период."));
+        assertThat(results.get(2).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(results.get(2).getError(), equalTo("У бронирования уже был изменён статус."));
+        assertThat(results.get(3).getError(), equalTo("Вещь уже забронирована на выбранный период."));
+        assertThat(results.get(4).getStatus(), equalTo(null));
+        assertThat(results.get(4).getError(), notNullValue());
+        assertThat(results.get(5).getError(), equalTo("Бронирования с данным id не существует."));
+
+        TypedQuery<Booking> query = entityManager.createQuery(
+                "SELECT b FROM Booking b WHERE b.status = :status ORDER BY b.id", Booking.class);
+        List<Booking> approvedBookings = query.setParameter("status", BookingStatus.APPROVED).getResultList();
+        assertThat(approvedBookings, equalTo(List.of(free, approved)));
+    }
+}
@@ -5,26 +5,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.AlreadyDoneException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.NoBodyInRequestException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dao.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -42,6 +50,8 @@ class BookingServiceTest {
     private ItemRepository itemRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
 
     @Test
     void createBooking_whenUserAndItemFoundAndBookerIsNotOwnerAndItemIsAvailable_thenReturnBooking() {
@@ -58,13 +68,14 @@ class BookingServiceTest {
 
         assertThat(booking.getId(), equalTo(null));
         when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
         when(bookingRepository.save(booking)).thenReturn(bookingAfterSave);
 
         BookingResponseDto createBookingResponseDto = bookingService.createBooking(bookingDto, userId);
 
         assertThat(createBookingResponseDto, equalTo(bookingAfterSaveResponseDto));
         verify(bookingRepository).save(booking);
+        verify(bookingIntervalIndex).index(bookingAfterSave);
     }
 
     @Test
@@ -94,7 +105,7 @@ class BookingServiceTest {
         Booking booking = BookingMapper.mapDtoToBooking(bookingDto, item, user);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.createBooking(bookingDto, userId));
         verify(bookingRepository, never()).save(booking);
@@ -110,7 +121,7 @@ class BookingServiceTest {
         Booking booking = BookingMapper.mapDtoToBooking(bookingDto, item, user);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
 
         assertThrows(NotFoundException.class, () -> bookingService.createBooking(bookingDto, userId));
         verify(bookingRepository, never()).save(booking);
@@ -127,12 +138,49 @@ class BookingServiceTest {
         Booking booking = BookingMapper.mapDtoToBooking(bookingDto, item, user);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
 
         assertThrows(NotAvailableException.class, () -> bookingService.createBooking(bookingDto, userId));
         verify(bookingRepository, never()).save(booking);
     }
 
+    @Test
+    void createBooking_whenApprovedBookingOverlaps_thenBookingOverlapExceptionThrown() {
+        User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
+        Long userId = booker.getId();
+        User user = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        Item item = new Item(1L, "lamp", "lamp description", true, user, null);
+        BookingRequestDto bookingDto = new BookingRequestDto(item.getId(), LocalDateTime.now().plusHours(1),
+                LocalDateTime.now().plusHours(2));
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), BookingStatus.APPROVED,
+                bookingDto.getEnd(), bookingDto.getStart())).thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.createBooking(bookingDto, userId));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void approveBookingByOwner_whenApprovedBookingOverlaps_thenBookingOverlapExceptionThrown() {
+        User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
+        Booking booking = new Booking(1L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
+                item, booker, BookingStatus.WAITING);
+
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), BookingStatus.APPROVED,
+                booking.getEnd(), booking.getStart())).thenReturn(true);
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.approveBookingByOwner(booking.getId(), true, owner.getId()));
+        assertThat(booking.getStatus(), equalTo(BookingStatus.WAITING));
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void approveBookingByOwner_whenBookingFoundAndApproveForTheFirstTimeAndByItemOwner_thenReturnApprovedBooking() {
         User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
@@ -142,12 +190,13 @@ class BookingServiceTest {
                 item, booker, BookingStatus.WAITING);
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingRepository.updateStatusIfWaiting(anyLong(), eq(BookingStatus.APPROVED))).thenReturn(1);
 
         BookingResponseDto approveBookingResponseDto =
                 bookingService.approveBookingByOwner(anyLong(), true, owner.getId());
 
-        verify(bookingRepository).save(booking);
+        verify(bookingRepository, never()).save(any());
+        verify(bookingIntervalIndex).index(booking);
         assertThat(approveBookingResponseDto.getStatus(), equalTo(BookingStatus.APPROVED));
         assertThat(approveBookingResponseDto.getId(), equalTo(booking.getId()));
         assertThat(approveBookingResponseDto.getStart(), equalTo(booking.getStart()));
@@ -163,18 +212,86 @@ class BookingServiceTest {
                 item, booker, BookingStatus.WAITING);
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingRepository.updateStatusIfWaiting(anyLong(), eq(BookingStatus.REJECTED))).thenReturn(1);
 
         BookingResponseDto approveBookingResponseDto =
                 bookingService.approveBookingByOwner(anyLong(), false, owner.getId());
 
-        verify(bookingRepository).save(booking);
+        verify(bookingRepository, never()).save(any());
         assertThat(approveBookingResponseDto.getStatus(), equalTo(BookingStatus.REJECTED));
         assertThat(approveBookingResponseDto.getId(), equalTo(booking.getId()));
         assertThat(approveBookingResponseDto.getStart(), equalTo(booking.getStart()));
         assertThat(approveBookingResponseDto.getEnd(), equalTo(booking.getEnd()));
     }
 
+    @Test
+    void approveBookingByOwner_whenStatusChangedConcurrently_thenAlreadyDoneExceptionThrown() {
+        User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
+        Booking booking = new Booking(1L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
+                item, booker, BookingStatus.WAITING);
+
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatusIfWaiting(booking.getId(), BookingStatus.REJECTED)).thenReturn(0);
+
+        assertThrows(AlreadyDoneException.class, () ->
+                bookingService.approveBookingByOwner(booking.getId(), false, owner.getId()));
+        verify(bookingIntervalIndex, never()).index(any());
+    }
+
+    @Test
+    void approveBookingsByOwner_whenRejectedAndOneBookingChangedConcurrently_thenReturnResultPerId() {
+        User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
+        Booking booking1 = new Booking(1L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
+                item, booker, BookingStatus.WAITING);
+        Booking booking2 = new Booking(2L, LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(4),
+                item, booker, BookingStatus.WAITING);
+        Booking booking2AfterUpdate = new Booking(2L, booking2.getStart(), booking2.getEnd(), item, booker,
+                BookingStatus.APPROVED);
+
+        when(bookingRepository.findByIdIn(Set.of(1L, 2L))).thenReturn(List.of(booking1, booking2));
+        when(bookingRepository.updateStatusIfWaitingAndOwnedBy(List.of(1L, 2L), owner.getId(),
+                BookingStatus.REJECTED)).thenReturn(1);
+        when(bookingRepository.findByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new Booking(1L, booking1.getStart(), booking1.getEnd(), item, booker,
+                        BookingStatus.REJECTED), booking2AfterUpdate));
+
+        List<BookingBatchResultDto> results = bookingService.approveBookingsByOwner(List.of(1L, 2L, 1L), false,
+                owner.getId());
+
+        assertThat(results, equalTo(List.of(
+                new BookingBatchResultDto(1L, BookingStatus.REJECTED, null),
+                new BookingBatchResultDto(2L, BookingStatus.APPROVED, "У бронирования уже был изменён статус."))));
+        verify(bookingIntervalIndex).index(booking1);
+        verify(itemRepository, never()).findAllByIdForUpdate(any());
+    }
+
+    @Test
+    void approveBookingsByOwner_whenNoIds_thenNoBodyInRequestExceptionThrown() {
+        assertThrows(NoBodyInRequestException.class, () ->
+                bookingService.approveBookingsByOwner(List.of(), true, 1L));
+        verify(bookingRepository, never()).updateStatusIfWaitingAndOwnedBy(any(), any(), any());
+    }
+
+    @Test
+    void approveBookingsByOwner_whenMoreIdsThanLimit_thenIllegalArgumentExceptionThrown() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                bookingService.approveBookingsByOwner(ids, true, 1L));
+        verify(bookingRepository, never()).findByIdIn(any());
+    }
+
+    @Test
+    void approveBookingsByOwner_whenIdIsNotPositive_thenIllegalArgumentExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () ->
+                bookingService.approveBookingsByOwner(Arrays.asList(1L, null, 0L), true, 1L));
+        verify(bookingRepository, never()).findByIdIn(any());
+    }
+
     @Test
     void approveBookingByOwner_whenBookingNotFound_thenNotFoundExceptionThrown() {
         User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
@@ -274,15 +391,94 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerOrderByStartDesc(any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(booker);
+        when(bookingRepository.findByBookerOrderByStartDescIdDesc(any(), any()))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsOfUser(BookingState.ALL, 0, 2, booker.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
-        verify(bookingRepository).findByBookerOrderByStartDesc(any(), any());
+        verify(bookingRepository).findByBookerOrderByStartDescIdDesc(any(), any());
+    }
+
+    @Test
+    void getAllBookingsOfUserAfter_whenUserFoundAndAllState_thenReturnBookingsAfterCursor() {
+        User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
+        Booking booking = new Booking(1L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
+                item, booker, BookingStatus.WAITING);
+        KeysetCursor after = new KeysetCursor(LocalDateTime.now().plusHours(2), 2L);
+
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findByBookerIdAfter(booker.getId(), after.getTimestamp(), after.getId(),
+                PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking));
+
+        Collection<BookingResponseDto> allBookings =
+                bookingService.getAllBookingsOfUserAfter(BookingState.ALL, after, 2, booker.getId());
+
+        assertThat(allBookings, contains(BookingMapper.mapBookingToDto(booking)));
+    }
+
+    @Test
+    void getAllBookingsOfUserAfter_whenUserFoundAndStatusState_thenReturnBookingsAfterCursor() {
+        User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
+        Booking booking = new Booking(1L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
+                item, booker, BookingStatus.REJECTED);
+        KeysetCursor after = new KeysetCursor(LocalDateTime.now().plusHours(2), 2L);
+
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findByBookerIdAndStatusAfter(booker.getId(), BookingStatus.REJECTED,
+                after.getTimestamp(), after.getId(), PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking));
+
+        Collection<BookingResponseDto> allBookings =
+                bookingService.getAllBookingsOfUserAfter(BookingState.REJECTED, after, 2, booker.getId());
+
+        assertThat(allBookings, contains(BookingMapper.mapBookingToDto(booking)));
+    }
+
+    @Test
+    void getAllBookingsOfUserAfter_whenUserNotFound_thenNotFoundExceptionThrown() {
+        when(userRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.getAllBookingsOfUserAfter(BookingState.ALL,
+                new KeysetCursor(LocalDateTime.now(), 1L), 2, 99L));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getAllBookingsForItemsOfOwnerAfter_whenUserFoundAndPastState_thenReturnBookingsAfterCursor() {
+        User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
+        User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
+        Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
+        Booking booking = new Booking(1L, LocalDateTime.now().minusHours(3), LocalDateTime.now().minusHours(2),
+                item, booker, BookingStatus.APPROVED);
+        KeysetCursor after = new KeysetCursor(LocalDateTime.now().minusHours(1), 2L);
+
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findPastByItemOwnerIdAfter(eq(owner.getId()), any(), eq(after.getTimestamp()),
+                eq(after.getId()), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(booking));
+
+        Collection<BookingResponseDto> allBookings =
+                bookingService.getAllBookingsForItemsOfOwnerAfter(BookingState.PAST, after, 2, owner.getId());
+
+        assertThat(allBookings, contains(BookingMapper.mapBookingToDto(booking)));
+    }
+
+    @Test
+    void getAllBookingsForItemsOfOwnerAfter_whenUserNotFound_thenNotFoundExceptionThrown() {
+        when(userRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.getAllBookingsForItemsOfOwnerAfter(
+                BookingState.ALL, new KeysetCursor(LocalDateTime.now(), 1L), 2, 99L));
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -297,15 +493,16 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerAndEndBeforeOrderByEndDesc(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(booker);
+        when(bookingRepository.findByBookerAndEndBeforeOrderByEndDescIdDesc(any(), any(), any()))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsOfUser(BookingState.PAST, 0, 2, booker.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
-        verify(bookingRepository).findByBookerAndEndBeforeOrderByEndDesc(any(), any(), any());
+        verify(bookingRepository).findByBookerAndEndBeforeOrderByEndDescIdDesc(any(), any(), any());
     }
 
     @Test
@@ -320,15 +517,17 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(any(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(booker);
+        when(bookingRepository.findByBookerAndStartBeforeAndEndAfterOrderByStartDescIdDesc(any(), any(), any(), any()))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsOfUser(BookingState.CURRENT, 0, 2, booker.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
-        verify(bookingRepository).findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(any(), any(), any(), any());
+        verify(bookingRepository)
+                .findByBookerAndStartBeforeAndEndAfterOrderByStartDescIdDesc(any(), any(), any(), any());
     }
 
     @Test
@@ -343,15 +542,16 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerAndStartAfterOrderByStartDesc(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(booker);
+        when(bookingRepository.findByBookerAndStartAfterOrderByStartDescIdDesc(any(), any(), any()))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsOfUser(BookingState.FUTURE, 0, 2, booker.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
-        verify(bookingRepository).findByBookerAndStartAfterOrderByStartDesc(any(), any(), any());
+        verify(bookingRepository).findByBookerAndStartAfterOrderByStartDescIdDesc(any(), any(), any());
     }
 
     @Test
@@ -366,17 +566,18 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(booker);
         when(bookingRepository
-                .findByBookerAndStatusOrderByStartDesc(booker, BookingStatus.WAITING, PageRequest.of(0, 2)))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+                .findByBookerAndStatusOrderByStartDescIdDesc(booker, BookingStatus.WAITING, PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsOfUser(BookingState.WAITING, 0, 2, booker.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
         verify(bookingRepository)
-                .findByBookerAndStatusOrderByStartDesc(booker, BookingStatus.WAITING, PageRequest.of(0, 2));
+                .findByBookerAndStatusOrderByStartDescIdDesc(booker, BookingStatus.WAITING, PageRequest.of(0, 2));
     }
 
     @Test
@@ -391,17 +592,18 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(booker);
         when(bookingRepository
-                .findByBookerAndStatusOrderByStartDesc(booker, BookingStatus.REJECTED, PageRequest.of(0, 2)))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+                .findByBookerAndStatusOrderByStartDescIdDesc(booker, BookingStatus.REJECTED, PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsOfUser(BookingState.REJECTED, 0, 2, booker.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
         verify(bookingRepository)
-                .findByBookerAndStatusOrderByStartDesc(booker, BookingStatus.REJECTED, PageRequest.of(0, 2));
+                .findByBookerAndStatusOrderByStartDescIdDesc(booker, BookingStatus.REJECTED, PageRequest.of(0, 2));
     }
 
     @Test
@@ -410,7 +612,7 @@ class BookingServiceTest {
         User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
         Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong())).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.getAllBookingsOfUser(BookingState.REJECTED, 0, 2, booker.getId()));
@@ -421,7 +623,6 @@ class BookingServiceTest {
         User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
         User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
         Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
-        List<Item> itemsOfOwner = List.of(item);
         Booking booking = new Booking(1L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
                 item, booker, BookingStatus.WAITING);
         Booking booking1 = new Booking(2L, LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(3),
@@ -429,16 +630,15 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(owner)).thenReturn(itemsOfOwner);
-        when(bookingRepository.findByItemInOrderByStartDesc(any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(any(), any()))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsForItemsOfOwner(BookingState.ALL, 0, 2, owner.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
-        verify(bookingRepository).findByItemInOrderByStartDesc(any(), any());
+        verify(bookingRepository).findByItemOwnerIdOrderByStartDescIdDesc(any(), any());
     }
 
     @Test
@@ -446,7 +646,6 @@ class BookingServiceTest {
         User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
         User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
         Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
-        List<Item> itemsOfOwner = List.of(item);
         Booking booking = new Booking(1L, LocalDateTime.now().minusHours(4), LocalDateTime.now().minusHours(3),
                 item, booker, BookingStatus.WAITING);
         Booking booking1 = new Booking(2L, LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1),
@@ -454,16 +653,15 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(owner)).thenReturn(itemsOfOwner);
-        when(bookingRepository.findByItemInAndEndBeforeOrderByEndDesc(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findByItemOwnerIdAndEndBeforeOrderByEndDescIdDesc(any(), any(), any()))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsForItemsOfOwner(BookingState.PAST, 0, 2, owner.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
-        verify(bookingRepository).findByItemInAndEndBeforeOrderByEndDesc(any(), any(), any());
+        verify(bookingRepository).findByItemOwnerIdAndEndBeforeOrderByEndDescIdDesc(any(), any(), any());
     }
 
     @Test
@@ -471,7 +669,6 @@ class BookingServiceTest {
         User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
         User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
         Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
-        List<Item> itemsOfOwner = List.of(item);
         Booking booking = new Booking(1L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
                 item, booker, BookingStatus.WAITING);
         Booking booking1 = new Booking(2L, LocalDateTime.now().minusHours(2), LocalDateTime.now().plusHours(3),
@@ -479,16 +676,17 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(owner)).thenReturn(itemsOfOwner);
-        when(bookingRepository.findByItemInAndStartBeforeAndEndAfterOrderByStartDesc(any(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository
+                .findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(any(), any(), any(), any()))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsForItemsOfOwner(BookingState.CURRENT, 0, 2, owner.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
-        verify(bookingRepository).findByItemInAndStartBeforeAndEndAfterOrderByStartDesc(any(), any(), any(), any());
+        verify(bookingRepository)
+                .findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(any(), any(), any(), any());
     }
 
     @Test
@@ -496,7 +694,6 @@ class BookingServiceTest {
         User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
         User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
         Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
-        List<Item> itemsOfOwner = List.of(item);
         Booking booking = new Booking(1L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
                 item, booker, BookingStatus.WAITING);
         Booking booking1 = new Booking(2L, LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(4),
@@ -504,16 +701,15 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(owner)).thenReturn(itemsOfOwner);
-        when(bookingRepository.findByItemInAndStartAfterOrderByStartDesc(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(any(), any(), any()))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsForItemsOfOwner(BookingState.FUTURE, 0, 2, owner.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
-        verify(bookingRepository).findByItemInAndStartAfterOrderByStartDesc(any(), any(), any());
+        verify(bookingRepository).findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(any(), any(), any());
     }
 
     @Test
@@ -521,7 +717,6 @@ class BookingServiceTest {
         User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
         User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
         Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
-        List<Item> itemsOfOwner = List.of(item);
         Booking booking = new Booking(1L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
                 item, booker, BookingStatus.WAITING);
         Booking booking1 = new Booking(2L, LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(4),
@@ -529,18 +724,19 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(owner)).thenReturn(itemsOfOwner);
+        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findByItemInAndStatusOrderByStartDesc(itemsOfOwner, BookingStatus.WAITING, PageRequest.of(0, 2)))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+                .findByItemOwnerIdAndStatusOrderByStartDescIdDesc(owner.getId(), BookingStatus.WAITING,
+                        PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsForItemsOfOwner(BookingState.WAITING, 0, 2, owner.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
         verify(bookingRepository)
-                .findByItemInAndStatusOrderByStartDesc(itemsOfOwner, BookingStatus.WAITING, PageRequest.of(0, 2));
+                .findByItemOwnerIdAndStatusOrderByStartDescIdDesc(owner.getId(), BookingStatus.WAITING,
+                        PageRequest.of(0, 2));
     }
 
     @Test
@@ -548,7 +744,6 @@ class BookingServiceTest {
         User booker = new User(2L, "Aarion", "lenny_friedmanhpxd@send.nx");
         User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
         Item item = new Item(1L, "lamp", "lamp description", true, owner, null);
-        List<Item> itemsOfOwner = List.of(item);
         Booking booking = new Booking(1L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
                 item, booker, BookingStatus.REJECTED);
         Booking booking1 = new Booking(2L, LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(4),
@@ -556,37 +751,39 @@ class BookingServiceTest {
         BookingResponseDto bookingResponseDto = BookingMapper.mapBookingToDto(booking);
         BookingResponseDto booking1ResponseDto = BookingMapper.mapBookingToDto(booking1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(owner)).thenReturn(itemsOfOwner);
+        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findByItemInAndStatusOrderByStartDesc(itemsOfOwner, BookingStatus.REJECTED, PageRequest.of(0, 2)))
-                .thenReturn(new PageImpl<>(List.of(booking, booking1)));
+                .findByItemOwnerIdAndStatusOrderByStartDescIdDesc(owner.getId(), BookingStatus.REJECTED,
+                        PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking, booking1));
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsForItemsOfOwner(BookingState.REJECTED, 0, 2, owner.getId());
 
         assertThat(allBookings, allOf(hasItem(bookingResponseDto), hasItem(booking1ResponseDto)));
         verify(bookingRepository)
-                .findByItemInAndStatusOrderByStartDesc(itemsOfOwner, BookingStatus.REJECTED, PageRequest.of(0, 2));
+                .findByItemOwnerIdAndStatusOrderByStartDescIdDesc(owner.getId(), BookingStatus.REJECTED,
+                        PageRequest.of(0, 2));
     }
 
     @Test
     void getAllBookingsForItemsOfOwner_whenUserFoundButOwnerHasNoItems_thenReturnEmptyCollection() {
         User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(owner)).thenReturn(Collections.emptyList());
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(owner.getId(), PageRequest.of(0, 2)))
+                .thenReturn(Collections.emptyList());
 
         Collection<BookingResponseDto> allBookings =
                 bookingService.getAllBookingsForItemsOfOwner(BookingState.ALL, 0, 2, owner.getId());
 
         assertThat(allBookings.size(), equalTo(0));
-        verify(bookingRepository, never()).findByItemInOrderByStartDesc(any(), any());
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
     void getAllBookingsForItemsOfOwner_whenUserNotFound_thenNotFoundExceptionThrown() {
         User owner = new User(1L, "Fredie", "jodelle_zajacr9jm@wonder.ed");
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong())).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.getAllBookingsForItemsOfOwner(BookingState.ALL, 0, 2, owner.getId()));
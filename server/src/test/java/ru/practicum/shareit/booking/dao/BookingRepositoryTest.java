@@ -1,33 +1,42 @@
 package ru.practicum.shareit.booking.dao;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.NearestBooking;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dao.UserRepository;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
-@DataJpaTest
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"})
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -36,6 +45,8 @@ class BookingRepositoryTest {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final TestEntityManager testEntityManager;
+    private final EntityManagerFactory entityManagerFactory;
     private PageRequest pageRequest;
     private User booker1;
     private User booker2;
@@ -93,20 +104,20 @@ class BookingRepositoryTest {
     void idGenerationByDbForUserAndItemAndBookingEntities() {
         Supplier<NotFoundException> exception = () -> new NotFoundException("Failure of id generation test.");
 
-        User foundUser1 = userRepository.findById(1L).orElseThrow(exception);
-        User foundUser2 = userRepository.findById(2L).orElseThrow(exception);
-        User foundUser3 = userRepository.findById(3L).orElseThrow(exception);
-        Item foundItem1 = itemRepository.findById(1L).orElseThrow(exception);
-        Item foundItem2 = itemRepository.findById(2L).orElseThrow(exception);
-        Booking foundBooking1 = bookingRepository.findById(1L).orElseThrow(exception);
-        Booking foundBooking2 = bookingRepository.findById(2L).orElseThrow(exception);
-        Booking foundBooking3 = bookingRepository.findById(3L).orElseThrow(exception);
-        Booking foundBooking4 = bookingRepository.findById(4L).orElseThrow(exception);
-        Booking foundBooking5 = bookingRepository.findById(5L).orElseThrow(exception);
-        Booking foundBooking6 = bookingRepository.findById(6L).orElseThrow(exception);
-        Booking foundBooking7 = bookingRepository.findById(7L).orElseThrow(exception);
-        Booking foundBooking8 = bookingRepository.findById(8L).orElseThrow(exception);
-        Booking foundBooking9 = bookingRepository.findById(9L).orElseThrow(exception);
+        User foundUser1 = userRepository.findById(owner.getId()).orElseThrow(exception);
+        User foundUser2 = userRepository.findById(owner.getId() + 1).orElseThrow(exception);
+        User foundUser3 = userRepository.findById(owner.getId() + 2).orElseThrow(exception);
+        Item foundItem1 = itemRepository.findById(item1.getId()).orElseThrow(exception);
+        Item foundItem2 = itemRepository.findById(item1.getId() + 1).orElseThrow(exception);
+        Booking foundBooking1 = bookingRepository.findById(bookingPastTimeApproved.getId()).orElseThrow(exception);
+        Booking foundBooking2 = bookingRepository.findById(bookingPastTimeApproved.getId() + 1).orElseThrow(exception);
+        Booking foundBooking3 = bookingRepository.findById(bookingPastTimeApproved.getId() + 2).orElseThrow(exception);
+        Booking foundBooking4 = bookingRepository.findById(bookingPastTimeApproved.getId() + 3).orElseThrow(exception);
+        Booking foundBooking5 = bookingRepository.findById(bookingPastTimeApproved.getId() + 4).orElseThrow(exception);
+        Booking foundBooking6 = bookingRepository.findById(bookingPastTimeApproved.getId() + 5).orElseThrow(exception);
+        Booking foundBooking7 = bookingRepository.findById(bookingPastTimeApproved.getId() + 6).orElseThrow(exception);
+        Booking foundBooking8 = bookingRepository.findById(bookingPastTimeApproved.getId() + 7).orElseThrow(exception);
+        Booking foundBooking9 = bookingRepository.findById(bookingPastTimeApproved.getId() + 8).orElseThrow(exception);
 
         assertThat(foundUser1, equalTo(owner));
         assertThat(foundUser2, equalTo(booker1));
@@ -125,217 +136,273 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBookerOrderByStartDesc() {
+    void findByBookerOrderByStartDescIdDesc() {
         pageRequest = PageRequest.of(0, 3);
-        Page<Booking> foundBookings = bookingRepository.findByBookerOrderByStartDesc(booker1, pageRequest);
+        List<Booking> foundBookings = bookingRepository.findByBookerOrderByStartDescIdDesc(booker1, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(4L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingFutureTimeRejected));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingCurrentTimeRejected));
-        assertThat(foundBookings.getContent().get(2), equalTo(bookingPastTimeRejected));
+        assertThat(foundBookings.size(), equalTo(3));
+        assertThat(foundBookings.get(0), equalTo(bookingFutureTimeRejected));
+        assertThat(foundBookings.get(1), equalTo(bookingCurrentTimeRejected));
+        assertThat(foundBookings.get(2), equalTo(bookingPastTimeRejected));
 
         pageRequest = PageRequest.of(1, 3);
-        foundBookings = bookingRepository.findByBookerOrderByStartDesc(booker1, pageRequest);
+        foundBookings = bookingRepository.findByBookerOrderByStartDescIdDesc(booker1, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(4L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingPastTimeApproved));
+        assertThat(foundBookings.size(), equalTo(1));
+        assertThat(foundBookings.get(0), equalTo(bookingPastTimeApproved));
     }
 
     @Test
-    void findByBookerAndEndBeforeOrderByEndDesc() {
+    void findByBookerAndEndBeforeOrderByEndDescIdDesc() {
         pageRequest = PageRequest.of(0, 3);
-        Page<Booking> foundBookings =
-                bookingRepository.findByBookerAndEndBeforeOrderByEndDesc(booker1, currentTime, pageRequest);
+        List<Booking> foundBookings =
+                bookingRepository.findByBookerAndEndBeforeOrderByEndDescIdDesc(booker1, currentTime, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(2L));
-        assertThat(foundBookings.getTotalPages(), equalTo(1));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingPastTimeRejected));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingPastTimeApproved));
+        assertThat(foundBookings.size(), equalTo(2));
+        assertThat(foundBookings.get(0), equalTo(bookingPastTimeRejected));
+        assertThat(foundBookings.get(1), equalTo(bookingPastTimeApproved));
     }
 
     @Test
-    void findByBookerAndStartBeforeAndEndAfterOrderByStartDesc() {
+    void findByBookerAndStartBeforeAndEndAfterOrderByStartDescIdDesc() {
         pageRequest = PageRequest.of(0, 1);
-        Page<Booking> foundBookings =
-                bookingRepository.findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(
+        List<Booking> foundBookings =
+                bookingRepository.findByBookerAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
                         booker2, currentTime, currentTime, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(2L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingCurrentTimeWaiting));
+        assertThat(foundBookings.size(), equalTo(1));
+        assertThat(foundBookings.get(0), equalTo(bookingCurrentTimeWaiting));
 
         pageRequest = PageRequest.of(1, 1);
         foundBookings =
-                bookingRepository.findByBookerAndStartBeforeAndEndAfterOrderByStartDesc(
+                bookingRepository.findByBookerAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
                         booker2, currentTime, currentTime, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(2L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingCurrentTimeApproved));
+        assertThat(foundBookings.size(), equalTo(1));
+        assertThat(foundBookings.get(0), equalTo(bookingCurrentTimeApproved));
     }
 
     @Test
-    void findByBookerAndStartAfterOrderByStartDesc() {
+    void findByBookerAndStartAfterOrderByStartDescIdDesc() {
         pageRequest = PageRequest.of(0, 2);
-        Page<Booking> foundBookings =
-                bookingRepository.findByBookerAndStartAfterOrderByStartDesc(booker2, currentTime, pageRequest);
+        List<Booking> foundBookings =
+                bookingRepository.findByBookerAndStartAfterOrderByStartDescIdDesc(booker2, currentTime, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(2L));
-        assertThat(foundBookings.getTotalPages(), equalTo(1));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingFutureTimeApproved));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingFutureTimeWaiting));
+        assertThat(foundBookings.size(), equalTo(2));
+        assertThat(foundBookings.get(0), equalTo(bookingFutureTimeApproved));
+        assertThat(foundBookings.get(1), equalTo(bookingFutureTimeWaiting));
     }
 
     @Test
-    void findByBookerAndStatusOrderByStartDesc() {
+    void findByBookerAndStatusOrderByStartDescIdDesc() {
         pageRequest = PageRequest.of(0, 2);
-        Page<Booking> foundBookings =
-                bookingRepository.findByBookerAndStatusOrderByStartDesc(booker2, BookingStatus.WAITING, pageRequest);
+        List<Booking> foundBookings =
+                bookingRepository.findByBookerAndStatusOrderByStartDescIdDesc(booker2, BookingStatus.WAITING,
+                        pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(3L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingFutureTimeWaiting));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingCurrentTimeWaiting));
+        assertThat(foundBookings.size(), equalTo(2));
+        assertThat(foundBookings.get(0), equalTo(bookingFutureTimeWaiting));
+        assertThat(foundBookings.get(1), equalTo(bookingCurrentTimeWaiting));
 
         pageRequest = PageRequest.of(1, 2);
         foundBookings =
-                bookingRepository.findByBookerAndStatusOrderByStartDesc(booker2, BookingStatus.WAITING, pageRequest);
+                bookingRepository.findByBookerAndStatusOrderByStartDescIdDesc(booker2, BookingStatus.WAITING,
+                        pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(3L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingPastTimeWaiting));
+        assertThat(foundBookings.size(), equalTo(1));
+        assertThat(foundBookings.get(0), equalTo(bookingPastTimeWaiting));
     }
 
     @Test
-    void findByItemInOrderByStartDesc() {
+    void findByItemOwnerIdOrderByStartDescIdDesc() {
         pageRequest = PageRequest.of(0, 3);
-        Page<Booking> foundBookings =
-                bookingRepository.findByItemInOrderByStartDesc(List.of(item1, item2), pageRequest);
+        List<Booking> foundBookings =
+                bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(owner.getId(), pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(9L));
-        assertThat(foundBookings.getTotalPages(), equalTo(3));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingFutureTimeApproved));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingFutureTimeRejected));
-        assertThat(foundBookings.getContent().get(2), equalTo(bookingFutureTimeWaiting));
+        assertThat(foundBookings.size(), equalTo(3));
+        assertThat(foundBookings.get(0), equalTo(bookingFutureTimeApproved));
+        assertThat(foundBookings.get(1), equalTo(bookingFutureTimeRejected));
+        assertThat(foundBookings.get(2), equalTo(bookingFutureTimeWaiting));
 
         pageRequest = PageRequest.of(1, 3);
-        foundBookings = bookingRepository.findByItemInOrderByStartDesc(List.of(item1, item2), pageRequest);
+        foundBookings = bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(owner.getId(), pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(9L));
-        assertThat(foundBookings.getTotalPages(), equalTo(3));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingCurrentTimeWaiting));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingCurrentTimeRejected));
-        assertThat(foundBookings.getContent().get(2), equalTo(bookingCurrentTimeApproved));
+        assertThat(foundBookings.size(), equalTo(3));
+        assertThat(foundBookings.get(0), equalTo(bookingCurrentTimeWaiting));
+        assertThat(foundBookings.get(1), equalTo(bookingCurrentTimeRejected));
+        assertThat(foundBookings.get(2), equalTo(bookingCurrentTimeApproved));
 
         pageRequest = PageRequest.of(2, 3);
-        foundBookings = bookingRepository.findByItemInOrderByStartDesc(List.of(item1, item2), pageRequest);
+        foundBookings = bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(owner.getId(), pageRequest);
+
+        assertThat(foundBookings.size(), equalTo(3));
+        assertThat(foundBookings.get(0), equalTo(bookingPastTimeRejected));
+        assertThat(foundBookings.get(1), equalTo(bookingPastTimeWaiting));
+        assertThat(foundBookings.get(2), equalTo(bookingPastTimeApproved));
+
+        foundBookings = bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(booker1.getId(), pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(9L));
-        assertThat(foundBookings.getTotalPages(), equalTo(3));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingPastTimeRejected));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingPastTimeWaiting));
-        assertThat(foundBookings.getContent().get(2), equalTo(bookingPastTimeApproved));
+        assertThat(foundBookings.size(), equalTo(0));
     }
 
     @Test
-    void findByItemInAndEndBeforeOrderByEndDesc() {
+    void findByItemOwnerIdAndEndBeforeOrderByEndDescIdDesc() {
         pageRequest = PageRequest.of(0, 2);
-        Page<Booking> foundBookings =
-                bookingRepository.findByItemInAndEndBeforeOrderByEndDesc(
-                        List.of(item1, item2), currentTime, pageRequest);
+        List<Booking> foundBookings =
+                bookingRepository.findByItemOwnerIdAndEndBeforeOrderByEndDescIdDesc(
+                        owner.getId(), currentTime, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(3L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingPastTimeRejected));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingPastTimeWaiting));
+        assertThat(foundBookings.size(), equalTo(2));
+        assertThat(foundBookings.get(0), equalTo(bookingPastTimeRejected));
+        assertThat(foundBookings.get(1), equalTo(bookingPastTimeWaiting));
 
         pageRequest = PageRequest.of(1, 2);
         foundBookings =
-                bookingRepository.findByItemInAndEndBeforeOrderByEndDesc(
-                        List.of(item1, item2), currentTime, pageRequest);
+                bookingRepository.findByItemOwnerIdAndEndBeforeOrderByEndDescIdDesc(
+                        owner.getId(), currentTime, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(3L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingPastTimeApproved));
+        assertThat(foundBookings.size(), equalTo(1));
+        assertThat(foundBookings.get(0), equalTo(bookingPastTimeApproved));
     }
 
     @Test
-    void findByItemInAndStartBeforeAndEndAfterOrderByStartDesc() {
+    void findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc() {
         pageRequest = PageRequest.of(0, 3);
-        Page<Booking> foundBookings =
-                bookingRepository.findByItemInAndStartBeforeAndEndAfterOrderByStartDesc(
-                        List.of(item1), currentTime, currentTime, pageRequest);
+        List<Booking> foundBookings =
+                bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                        owner.getId(), currentTime, currentTime, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(2L));
-        assertThat(foundBookings.getTotalPages(), equalTo(1));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingCurrentTimeWaiting));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingCurrentTimeRejected));
+        assertThat(foundBookings.size(), equalTo(3));
+        assertThat(foundBookings.get(0), equalTo(bookingCurrentTimeWaiting));
+        assertThat(foundBookings.get(1), equalTo(bookingCurrentTimeRejected));
+        assertThat(foundBookings.get(2), equalTo(bookingCurrentTimeApproved));
     }
 
     @Test
-    void findByItemInAndStartAfterOrderByStartDesc() {
+    void findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc() {
         pageRequest = PageRequest.of(0, 1);
-        Page<Booking> foundBookings =
-                bookingRepository.findByItemInAndStartAfterOrderByStartDesc(
-                        List.of(item2), currentTime, pageRequest);
+        List<Booking> foundBookings =
+                bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(
+                        owner.getId(), currentTime, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(2L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingFutureTimeApproved));
+        assertThat(foundBookings.size(), equalTo(1));
+        assertThat(foundBookings.get(0), equalTo(bookingFutureTimeApproved));
 
         pageRequest = PageRequest.of(1, 1);
         foundBookings =
-                bookingRepository.findByItemInAndStartAfterOrderByStartDesc(List.of(item2), currentTime, pageRequest);
+                bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(owner.getId(), currentTime,
+                        pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(2L));
-        assertThat(foundBookings.getTotalPages(), equalTo(2));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingFutureTimeRejected));
+        assertThat(foundBookings.size(), equalTo(1));
+        assertThat(foundBookings.get(0), equalTo(bookingFutureTimeRejected));
     }
 
     @Test
-    void findByItemInAndStatusOrderByStartDesc() {
+    void findByItemOwnerIdAndStatusOrderByStartDescIdDesc() {
         pageRequest = PageRequest.of(0, 5);
-        Page<Booking> foundBookings =
-                bookingRepository.findByItemInAndStatusOrderByStartDesc(
-                        List.of(item1, item2), BookingStatus.REJECTED, pageRequest);
+        List<Booking> foundBookings =
+                bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                        owner.getId(), BookingStatus.REJECTED, pageRequest);
 
-        assertThat(foundBookings.getTotalElements(), equalTo(3L));
-        assertThat(foundBookings.getTotalPages(), equalTo(1));
-        assertThat(foundBookings.getContent().get(0), equalTo(bookingFutureTimeRejected));
-        assertThat(foundBookings.getContent().get(1), equalTo(bookingCurrentTimeRejected));
-        assertThat(foundBookings.getContent().get(2), equalTo(bookingPastTimeRejected));
+        assertThat(foundBookings.size(), equalTo(3));
+        assertThat(foundBookings.get(0), equalTo(bookingFutureTimeRejected));
+        assertThat(foundBookings.get(1), equalTo(bookingCurrentTimeRejected));
+        assertThat(foundBookings.get(2), equalTo(bookingPastTimeRejected));
     }
 
     @Test
-    void findFirstByItemAndStartBeforeAndEndAfterAndStatusInOrderByStartAsc() {
-        BookingShort bookingShort =
-                bookingRepository.findFirstByItemAndStartBeforeAndEndAfterAndStatusInOrderByStartAsc(
-                        item1, currentTime, currentTime, allStatuses);
+    void findByBookerIdAfter() {
+        pageRequest = PageRequest.of(0, 3);
+        List<Booking> foundBookings = bookingRepository.findByBookerIdAfter(booker1.getId(),
+                stored(bookingFutureTimeRejected).getStart(), bookingFutureTimeRejected.getId(), pageRequest);
 
-        assertThat(bookingShort.getId(), equalTo(bookingCurrentTimeRejected.getId()));
-        assertThat(bookingShort.getBooker(), equalTo(bookingCurrentTimeRejected.getBooker()));
+        assertThat(foundBookings,
+                equalTo(List.of(bookingCurrentTimeRejected, bookingPastTimeRejected, bookingPastTimeApproved)));
     }
 
     @Test
-    void findFirstByItemAndEndBeforeAndStatusInOrderByEndDesc() {
-        BookingShort bookingShort =
-                bookingRepository.findFirstByItemAndEndBeforeAndStatusInOrderByEndDesc(
-                        item1, currentTime, allStatuses);
+    void findByBookerIdAndStateAfter() {
+        pageRequest = PageRequest.of(0, 1);
+        List<Booking> foundBookings = bookingRepository.findPastByBookerIdAfter(booker1.getId(), currentTime,
+                stored(bookingPastTimeRejected).getEnd(), bookingPastTimeRejected.getId(), pageRequest);
+
+        assertThat(foundBookings, equalTo(List.of(bookingPastTimeApproved)));
+
+        foundBookings = bookingRepository.findCurrentByBookerIdAfter(booker2.getId(), currentTime,
+                stored(bookingCurrentTimeWaiting).getStart(), bookingCurrentTimeWaiting.getId(), pageRequest);
+
+        assertThat(foundBookings, equalTo(List.of(bookingCurrentTimeApproved)));
+
+        foundBookings = bookingRepository.findFutureByBookerIdAfter(booker2.getId(), currentTime,
+                stored(bookingFutureTimeApproved).getStart(), bookingFutureTimeApproved.getId(), pageRequest);
 
-        assertThat(bookingShort.getId(), equalTo(bookingPastTimeWaiting.getId()));
-        assertThat(bookingShort.getBooker(), equalTo(bookingPastTimeWaiting.getBooker()));
+        assertThat(foundBookings, equalTo(List.of(bookingFutureTimeWaiting)));
+
+        foundBookings = bookingRepository.findByBookerIdAndStatusAfter(booker1.getId(), BookingStatus.REJECTED,
+                stored(bookingCurrentTimeRejected).getStart(), bookingCurrentTimeRejected.getId(), pageRequest);
+
+        assertThat(foundBookings, equalTo(List.of(bookingPastTimeRejected)));
+    }
+
+    @Test
+    void findByBookerOrderByStartDescIdDesc_whenStartsEqual_thenOffsetAndKeysetPagesAgree() {
+        LocalDateTime sameStart = LocalDateTime.now().plusDays(1);
+        List<Booking> sameStartBookings = Stream.of(1, 2, 3, 4)
+                .map(i -> new Booking(null, sameStart, sameStart.plusHours(i), item1, booker1, BookingStatus.WAITING))
+                .collect(Collectors.toList());
+        bookingRepository.saveAll(sameStartBookings);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<Booking> offsetPage = bookingRepository.findByBookerOrderByStartDescIdDesc(booker1, PageRequest.of(1, 2));
+        Booking lastOfFirstPage = bookingRepository.findByBookerOrderByStartDescIdDesc(booker1, PageRequest.of(0, 2))
+                .get(1);
+        List<Booking> keysetPage = bookingRepository.findByBookerIdAfter(booker1.getId(), lastOfFirstPage.getStart(),
+                lastOfFirstPage.getId(), PageRequest.of(0, 2));
+
+        assertThat(offsetPage, equalTo(List.of(sameStartBookings.get(1), sameStartBookings.get(0))));
+        assertThat(keysetPage, equalTo(offsetPage));
     }
 
     @Test
-    void findFirstByItemAndStartAfterAndStatusInOrderByStartAsc() {
-        BookingShort bookingShort =
-                bookingRepository.findFirstByItemAndStartAfterAndStatusInOrderByStartAsc(
-                        item2, currentTime, allStatuses);
+    void findByItemOwnerIdAfter() {
+        pageRequest = PageRequest.of(0, 3);
+        List<Booking> foundBookings = bookingRepository.findByItemOwnerIdAfter(owner.getId(),
+                stored(bookingFutureTimeWaiting).getStart(), bookingFutureTimeWaiting.getId(), pageRequest);
+
+        assertThat(foundBookings, equalTo(List.of(bookingCurrentTimeWaiting,
+                bookingCurrentTimeRejected, bookingCurrentTimeApproved)));
+
+        foundBookings = bookingRepository.findByItemOwnerIdAfter(booker1.getId(),
+                stored(bookingFutureTimeWaiting).getStart(), bookingFutureTimeWaiting.getId(), pageRequest);
 
-        assertThat(bookingShort.getId(), equalTo(bookingFutureTimeRejected.getId()));
-        assertThat(bookingShort.getBooker(), equalTo(bookingFutureTimeRejected.getBooker()));
+        assertThat(foundBookings.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void findByItemOwnerIdAndStateAfter() {
+        pageRequest = PageRequest.of(0, 2);
+        List<Booking> foundBookings = bookingRepository.findPastByItemOwnerIdAfter(owner.getId(), currentTime,
+                stored(bookingPastTimeRejected).getEnd(), bookingPastTimeRejected.getId(), pageRequest);
+
+        assertThat(foundBookings, equalTo(List.of(bookingPastTimeWaiting, bookingPastTimeApproved)));
+
+        foundBookings = bookingRepository.findCurrentByItemOwnerIdAfter(owner.getId(), currentTime,
+                stored(bookingCurrentTimeWaiting).getStart(), bookingCurrentTimeWaiting.getId(), pageRequest);
+
+        assertThat(foundBookings,
+                equalTo(List.of(bookingCurrentTimeRejected, bookingCurrentTimeApproved)));
+
+        foundBookings = bookingRepository.findFutureByItemOwnerIdAfter(owner.getId(), currentTime,
+                stored(bookingFutureTimeApproved).getStart(), bookingFutureTimeApproved.getId(), pageRequest);
+
+        assertThat(foundBookings, equalTo(List.of(bookingFutureTimeRejected, bookingFutureTimeWaiting)));
+
+        foundBookings = bookingRepository.findByItemOwnerIdAndStatusAfter(owner.getId(), BookingStatus.APPROVED,
+                stored(bookingFutureTimeApproved).getStart(), bookingFutureTimeApproved.getId(), pageRequest);
+
+        assertThat(foundBookings,
+                equalTo(List.of(bookingCurrentTimeApproved, bookingPastTimeApproved)));
     }
 
     @Test
@@ -347,29 +414,188 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllLastBookings() {
-        List<Booking> foundBookings =
-                bookingRepository.findAllLastBookings(List.of(item1, item2), currentTime, allStatuses);
+    void findLastAndNextBookings() {
+        List<NearestBooking> foundBookings = bookingRepository.findLastAndNextBookings(
+                List.of(item1.getId(), item2.getId()), currentTime, statusIds(allStatuses));
+
+        assertThat(foundBookings.size(), equalTo(4));
+        assertThat(findNearestBooking(foundBookings, item1, false).getId(), equalTo(bookingCurrentTimeWaiting.getId()));
+        assertThat(findNearestBooking(foundBookings, item1, false).getBookerId(), equalTo(booker2.getId()));
+        assertThat(findNearestBooking(foundBookings, item1, true).getId(), equalTo(bookingFutureTimeWaiting.getId()));
+        assertThat(findNearestBooking(foundBookings, item2, false).getId(),
+                equalTo(bookingCurrentTimeApproved.getId()));
+        assertThat(findNearestBooking(foundBookings, item2, true).getId(), equalTo(bookingFutureTimeRejected.getId()));
+    }
+
+    @Test
+    void findLastAndNextBookingsWithStatusFilter() {
+        List<NearestBooking> foundBookings = bookingRepository.findLastAndNextBookings(
+                List.of(item2.getId()), currentTime, statusIds(Set.of(BookingStatus.APPROVED)));
 
         assertThat(foundBookings.size(), equalTo(2));
-        assertThat(foundBookings, allOf(hasItem(bookingPastTimeWaiting), hasItem(bookingPastTimeRejected)));
+        assertThat(findNearestBooking(foundBookings, item2, false).getId(),
+                equalTo(bookingCurrentTimeApproved.getId()));
+        assertThat(findNearestBooking(foundBookings, item2, true).getId(), equalTo(bookingFutureTimeApproved.getId()));
     }
 
     @Test
-    void findAllCurrentBookings() {
-        List<Booking> foundBookings =
-                bookingRepository.findAllCurrentBookings(List.of(item1, item2), currentTime, allStatuses);
+    void findLastAndNextBookingsWhenAllBookingsEnded() {
+        List<NearestBooking> foundBookings = bookingRepository.findLastAndNextBookings(
+                List.of(item1.getId()), currentTime.plusHours(10), statusIds(allStatuses));
 
-        assertThat(foundBookings.size(), equalTo(2));
-        assertThat(foundBookings, allOf(hasItem(bookingCurrentTimeApproved), hasItem(bookingCurrentTimeWaiting)));
+        assertThat(foundBookings.size(), equalTo(1));
+        assertThat(foundBookings.get(0).getId(), equalTo(bookingFutureTimeWaiting.getId()));
+        assertThat(foundBookings.get(0).getItemId(), equalTo(item1.getId()));
+        assertThat(foundBookings.get(0).getIsNext(), equalTo(false));
     }
 
     @Test
-    void findAllNextBookings() {
-        List<Booking> foundBookings =
-                bookingRepository.findAllNextBookings(List.of(item1, item2), currentTime, allStatuses);
+    void updateStatusIfWaiting() {
+        int updated = bookingRepository.updateStatusIfWaiting(bookingFutureTimeWaiting.getId(),
+                BookingStatus.APPROVED);
+        int updatedAgain = bookingRepository.updateStatusIfWaiting(bookingFutureTimeWaiting.getId(),
+                BookingStatus.REJECTED);
+
+        assertThat(updated, equalTo(1));
+        assertThat(updatedAgain, equalTo(0));
+        assertThat(bookingRepository.findById(bookingFutureTimeWaiting.getId()).orElseThrow().getStatus(),
+                equalTo(BookingStatus.APPROVED));
+    }
 
-        assertThat(foundBookings.size(), equalTo(2));
-        assertThat(foundBookings, allOf(hasItem(bookingFutureTimeWaiting), hasItem(bookingFutureTimeRejected)));
+    @Test
+    void updateStatusIfWaitingAndOwnedBy() {
+        int updatedByBooker = bookingRepository.updateStatusIfWaitingAndOwnedBy(
+                List.of(bookingPastTimeWaiting.getId(), bookingFutureTimeWaiting.getId()), booker1.getId(),
+                BookingStatus.REJECTED);
+        int updatedByOwner = bookingRepository.updateStatusIfWaitingAndOwnedBy(
+                List.of(bookingPastTimeWaiting.getId(), bookingFutureTimeWaiting.getId(),
+                        bookingFutureTimeApproved.getId()), owner.getId(), BookingStatus.REJECTED);
+
+        assertThat(updatedByBooker, equalTo(0));
+        assertThat(updatedByOwner, equalTo(2));
+        assertThat(bookingRepository.findById(bookingFutureTimeApproved.getId()).orElseThrow().getStatus(),
+                equalTo(BookingStatus.APPROVED));
+        assertThat(bookingRepository.findByIdIn(List.of(bookingPastTimeWaiting.getId(),
+                        bookingFutureTimeWaiting.getId())).stream()
+                .allMatch(booking -> booking.getStatus() == BookingStatus.REJECTED), equalTo(true));
+    }
+
+    @Test
+    void findIntervalsByStatusIn() {
+        List<BookingInterval> foundIntervals =
+                bookingRepository.findIntervalsByStatusIn(List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+
+        assertThat(foundIntervals.size(), equalTo(6));
+        BookingInterval interval = foundIntervals.stream()
+                .filter(foundInterval -> foundInterval.getId().equals(bookingCurrentTimeApproved.getId()))
+                .findFirst().orElseThrow();
+        assertThat(interval.getItemId(), equalTo(item2.getId()));
+        assertThat(interval.getBookerId(), equalTo(booker2.getId()));
+        assertThat(interval.getStart(), equalTo(stored(bookingCurrentTimeApproved).getStart()));
+        assertThat(interval.getEnd(), equalTo(stored(bookingCurrentTimeApproved).getEnd()));
+        assertThat(interval.getStatus(), equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void streamIntervalsByItemIdAndStatus() {
+        List<BookingInterval> foundIntervals;
+        try (Stream<BookingInterval> intervals = bookingRepository.streamIntervalsByItemIdAndStatus(item2.getId(),
+                BookingStatus.APPROVED, currentTime.minusHours(1), currentTime.plusHours(10))) {
+            foundIntervals = intervals.collect(Collectors.toList());
+        }
+
+        assertThat(foundIntervals.size(), equalTo(2));
+        assertThat(foundIntervals.get(0).getId(), equalTo(bookingCurrentTimeApproved.getId()));
+        assertThat(foundIntervals.get(1).getId(), equalTo(bookingFutureTimeApproved.getId()));
+    }
+
+    @Test
+    void findLastAndNextBookingsMatchesBookingIntervalIndex() {
+        BookingIntervalIndex bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, true);
+        bookingIntervalIndex.rebuild();
+
+        for (LocalDateTime time : List.of(currentTime.minusHours(10), currentTime.minusHours(5), currentTime,
+                currentTime.plusHours(5), currentTime.plusHours(10))) {
+            List<NearestBooking> fromDb = bookingRepository.findLastAndNextBookings(
+                    List.of(item1.getId(), item2.getId()), time,
+                    statusIds(Set.of(BookingStatus.WAITING, BookingStatus.APPROVED)));
+            List<NearestBooking> fromIndex = bookingIntervalIndex.findLastAndNextBookings(
+                    List.of(item1.getId(), item2.getId()), time);
+
+            assertThat(fromIndex.size(), equalTo(fromDb.size()));
+            for (NearestBooking nearestBooking : fromDb) {
+                Item item = nearestBooking.getItemId().equals(item1.getId()) ? item1 : item2;
+                NearestBooking indexed = findNearestBooking(fromIndex, item, nearestBooking.getIsNext());
+                assertThat(indexed.getId(), equalTo(nearestBooking.getId()));
+                assertThat(indexed.getBookerId(), equalTo(nearestBooking.getBookerId()));
+            }
+        }
+    }
+
+    @Test
+    void findBookingsPageWithItemsAndBookersInOneStatement() {
+        Statistics statistics = resetStatistics();
+
+        List<Booking> bookingsOfBooker = bookingRepository.findByBookerOrderByStartDescIdDesc(booker2,
+                PageRequest.of(0, 10));
+        List<Booking> bookingsOfItems = bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(owner.getId(),
+                PageRequest.of(0, 10));
+        bookingsOfBooker.forEach(BookingMapper::mapBookingToDto);
+        bookingsOfItems.forEach(BookingMapper::mapBookingToDto);
+
+        assertThat(bookingsOfBooker.size(), equalTo(5));
+        assertThat(bookingsOfItems.size(), equalTo(9));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void findFullBookingsPageWithoutCountStatement() {
+        Statistics statistics = resetStatistics();
+
+        List<Booking> bookingsOfBooker = bookingRepository.findByBookerOrderByStartDescIdDesc(booker1,
+                PageRequest.of(0, 2));
+        List<Booking> bookingsOfItems = bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(owner.getId(),
+                PageRequest.of(1, 3));
+
+        assertThat(bookingsOfBooker.size(), equalTo(2));
+        assertThat(bookingsOfItems.size(), equalTo(3));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void findByIdWithItemAndBookerInOneStatement() {
+        Statistics statistics = resetStatistics();
+
+        Booking booking = bookingRepository.findById(bookingCurrentTimeApproved.getId()).orElseThrow();
+        BookingMapper.mapBookingToDto(booking);
+
+        assertThat(booking.getItem().getOwner().getId(), equalTo(owner.getId()));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    private Statistics resetStatistics() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private List<Integer> statusIds(Set<BookingStatus> statuses) {
+        return statuses.stream().map(BookingStatus::ordinal).collect(Collectors.toList());
+    }
+
+    private NearestBooking findNearestBooking(List<NearestBooking> nearestBookings, Item item, boolean isNext) {
+        return nearestBookings.stream()
+                .filter(nearestBooking -> nearestBooking.getItemId().equals(item.getId()) &&
+                        nearestBooking.getIsNext() == isNext)
+                .findAny()
+                .orElseThrow();
+    }
+
+    private Booking stored(Booking booking) {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        return testEntityManager.find(Booking.class, booking.getId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+package ru.practicum.shareit.booking.interval;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.NearestBooking;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private LocalDateTime now;
+    private User booker1;
+    private User booker2;
+    private Item item1;
+    private Item item2;
+
+    @BeforeEach
+    void setUp() {
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, true);
+        now = LocalDateTime.of(2030, 1, 10, 12, 0);
+        User owner = new User(1L, "Darus", "kenika_plummeryps@networks.or");
+        booker1 = new User(2L, "Mayer", "dearon_rourkeynz2@chevy.gp");
+        booker2 = new User(3L, "Hava", "caly_covelll@tribunal.ir");
+        item1 = new Item(1L, "spoon", "steel spoon", true, owner, null);
+        item2 = new Item(2L, "guitar", "wooden guitar", true, owner, null);
+    }
+
+    @Test
+    void rebuild_whenBookingsLoaded_thenAnswerLastAndNextBookings() {
+        when(bookingRepository.findIntervalsByStatusIn(anyCollection())).thenReturn(List.of(
+                interval(1L, item1, booker1, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED),
+                interval(2L, item1, booker2, now.minusHours(1), now.plusHours(1), BookingStatus.WAITING),
+                interval(3L, item1, booker1, now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED),
+                interval(4L, item1, booker2, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING),
+                interval(5L, item2, booker1, now.minusDays(5), now.minusDays(1), BookingStatus.APPROVED),
+                interval(6L, item2, booker2, now.minusDays(4), now.minusDays(3), BookingStatus.APPROVED)));
+
+        bookingIntervalIndex.rebuild();
+
+        List<NearestBooking> nearestBookings =
+                bookingIntervalIndex.findLastAndNextBookings(List.of(item1.getId(), item2.getId(), 3L), now);
+        assertThat(nearestBookings.size(), equalTo(3));
+        assertThat(find(nearestBookings, item1, false).getId(), equalTo(2L));
+        assertThat(find(nearestBookings, item1, false).getBookerId(), equalTo(booker2.getId()));
+        assertThat(find(nearestBookings, item1, true).getId(), equalTo(4L));
+        assertThat(find(nearestBookings, item2, false).getId(), equalTo(5L));
+    }
+
+    @Test
+    void findApprovedIntervals_whenWaitingAndApprovedBookingsIndexed_thenOnlyApprovedIntervalsBlock() {
+        when(bookingRepository.findIntervalsByStatusIn(anyCollection())).thenReturn(List.of(
+                interval(1L, item1, booker1, now.minusDays(10), now.plusDays(10), BookingStatus.APPROVED),
+                interval(2L, item1, booker2, now.minusDays(5), now.minusDays(4), BookingStatus.APPROVED),
+                interval(3L, item2, booker1, now, now.plusDays(1), BookingStatus.WAITING)));
+
+        bookingIntervalIndex.rebuild();
+
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item1.getId(), now.plusDays(1), now.plusDays(2)),
+                hasSize(1));
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item1.getId(), now.plusDays(10), now.plusDays(11)),
+                empty());
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item1.getId(), now.minusDays(11), now.minusDays(10)),
+                empty());
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item2.getId(), now, now.plusDays(1)), empty());
+    }
+
+    @Test
+    void findApprovedIntervals_whenApprovedBookingsIndexed_thenReturnOverlappingIntervalsByStart() {
+        when(bookingRepository.findIntervalsByStatusIn(anyCollection())).thenReturn(List.of(
+                interval(1L, item1, booker1, now.plusDays(4), now.plusDays(6), BookingStatus.APPROVED),
+                interval(2L, item1, booker2, now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED),
+                interval(3L, item1, booker1, now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED),
+                interval(4L, item1, booker2, now.plusDays(2), now.plusDays(3), BookingStatus.WAITING),
+                interval(5L, item1, booker2, now.plusDays(8), now.plusDays(9), BookingStatus.APPROVED)));
+
+        bookingIntervalIndex.rebuild();
+
+        List<BookingInterval> intervals = bookingIntervalIndex.findApprovedIntervals(item1.getId(), now,
+                now.plusDays(8));
+        assertThat(intervals.size(), equalTo(2));
+        assertThat(intervals.get(0).getId(), equalTo(3L));
+        assertThat(intervals.get(0).getStart(), equalTo(now.minusDays(1)));
+        assertThat(intervals.get(0).getEnd(), equalTo(now.plusDays(1)));
+        assertThat(intervals.get(1).getId(), equalTo(1L));
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item2.getId(), now, now.plusDays(8)), empty());
+    }
+
+    @Test
+    void index_whenBookingCreatedApprovedOrRejected_thenIndexReflectsChanges() {
+        Booking booking = new Booking(1L, now.plusDays(1), now.plusDays(2), item1, booker1, BookingStatus.WAITING);
+
+        bookingIntervalIndex.index(booking);
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item1.getId(), now.plusDays(1), now.plusDays(2)),
+                empty());
+        assertThat(find(bookingIntervalIndex.findLastAndNextBookings(List.of(item1.getId()), now), item1, true)
+                .getId(), equalTo(1L));
+
+        booking.setStatus(BookingStatus.APPROVED);
+        bookingIntervalIndex.index(booking);
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item1.getId(), now.plusDays(1), now.plusDays(2)),
+                hasSize(1));
+        assertThat(bookingIntervalIndex.findLastAndNextBookings(List.of(item1.getId()), now).size(), equalTo(1));
+
+        booking.setStatus(BookingStatus.REJECTED);
+        bookingIntervalIndex.index(booking);
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item1.getId(), now.plusDays(1), now.plusDays(2)),
+                empty());
+        assertThat(bookingIntervalIndex.findLastAndNextBookings(List.of(item1.getId()), now), empty());
+    }
+
+    @Test
+    void removeBookingsOfUser_whenBookerRemoved_thenTheirBookingsDropped() {
+        bookingIntervalIndex.index(
+                new Booking(1L, now.minusDays(2), now.minusDays(1), item1, booker1, BookingStatus.APPROVED));
+        bookingIntervalIndex.index(
+                new Booking(2L, now.plusDays(1), now.plusDays(2), item1, booker2, BookingStatus.APPROVED));
+
+        bookingIntervalIndex.removeBookingsOfUser(booker2.getId(), List.of());
+
+        List<NearestBooking> nearestBookings = bookingIntervalIndex.findLastAndNextBookings(List.of(item1.getId()), now);
+        assertThat(nearestBookings.size(), equalTo(1));
+        assertThat(nearestBookings.get(0).getId(), equalTo(1L));
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item1.getId(), now.plusDays(1), now.plusDays(2)),
+                empty());
+    }
+
+    @Test
+    void removeBookingsOfUser_whenOwnerRemoved_thenBookingsOfTheirItemsDropped() {
+        Item foreignItem = new Item(3L, "lamp", "desk lamp", true, booker1, null);
+        bookingIntervalIndex.index(
+                new Booking(1L, now.minusDays(2), now.minusDays(1), item1, booker1, BookingStatus.APPROVED));
+        bookingIntervalIndex.index(
+                new Booking(2L, now.plusDays(1), now.plusDays(2), item2, booker2, BookingStatus.WAITING));
+        bookingIntervalIndex.index(
+                new Booking(3L, now.plusDays(1), now.plusDays(2), foreignItem, booker2, BookingStatus.APPROVED));
+
+        bookingIntervalIndex.removeBookingsOfUser(item1.getOwner().getId(), List.of(item1.getId(), item2.getId()));
+
+        List<NearestBooking> nearestBookings = bookingIntervalIndex.findLastAndNextBookings(
+                List.of(item1.getId(), item2.getId(), foreignItem.getId()), now);
+        assertThat(nearestBookings.size(), equalTo(1));
+        assertThat(nearestBookings.get(0).getId(), equalTo(3L));
+        assertThat(bookingIntervalIndex.findApprovedIntervals(item1.getId(), now.minusDays(2), now), empty());
+    }
+
+    @Test
+    void rebuild_whenIndexDisabled_thenNothingIndexed() {
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, false);
+
+        bookingIntervalIndex.rebuild();
+        bookingIntervalIndex.index(
+                new Booking(1L, now.minusDays(2), now.plusDays(1), item1, booker1, BookingStatus.APPROVED));
+
+        assertThat(bookingIntervalIndex.isEnabled(), equalTo(false));
+        assertThat(bookingIntervalIndex.findLastAndNextBookings(List.of(item1.getId()), now), empty());
+        verify(bookingRepository, never()).findIntervalsByStatusIn(anyCollection());
+    }
+
+    private static NearestBooking find(List<NearestBooking> nearestBookings, Item item, boolean isNext) {
+        return nearestBookings.stream()
+                .filter(nearestBooking -> nearestBooking.getItemId().equals(item.getId()) &&
+                        nearestBooking.getIsNext() == isNext)
+                .findAny()
+                .orElseThrow();
+    }
+
+    private static BookingInterval interval(Long id, Item item, User booker, LocalDateTime start, LocalDateTime end,
+                                            BookingStatus status) {
+        return new BookingInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return item.getId();
+            }
+
+            @Override
+            public Long getBookerId() {
+                return booker.getId();
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+
+            @Override
+            public BookingStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.interval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class IntervalListTest {
+
+    @Test
+    void last_whenLongIntervalCoversNowBehindFinishedOnes_thenLatestStartingCoveringIntervalReturned() {
+        IntervalList intervals = new IntervalList();
+        intervals.add(1L, 1L, 0L, 1_000L);
+        for (long id = 2; id <= 40; id++) {
+            intervals.add(id, 1L, id * 10, id * 10 + 5);
+        }
+
+        assertThat(intervals.idAt(intervals.last(500L)), equalTo(1L));
+
+        intervals.add(41L, 2L, 450L, 600L);
+
+        assertThat(intervals.idAt(intervals.last(500L)), equalTo(41L));
+        assertThat(intervals.idAt(intervals.last(700L)), equalTo(1L));
+        assertThat(intervals.idAt(intervals.last(2_000L)), equalTo(1L));
+    }
+
+    @Test
+    void last_whenIntervalsAddedAndRemovedAtRandom_thenMatchesLinearScan() {
+        Random random = new Random(42);
+        IntervalList intervals = new IntervalList();
+        List<long[]> expected = new ArrayList<>();
+
+        for (long id = 1; id <= 500; id++) {
+            long start = random.nextInt(10_000) * 1_000L + id;
+            long end = start + (1 + random.nextInt(2_000)) * 1_000L;
+            intervals.add(id, id % 7, start, end);
+            expected.add(new long[]{id, start, end});
+            if (random.nextInt(4) == 0) {
+                long[] removed = expected.remove(random.nextInt(expected.size()));
+                intervals.remove(removed[0]);
+            }
+
+            long now = random.nextInt(12_000_000);
+            int last = intervals.last(now);
+            assertThat(last < 0 ? -1L : intervals.idAt(last), equalTo(lastByScan(expected, now)));
+        }
+    }
+
+    private static long lastByScan(List<long[]> intervals, long now) {
+        List<long[]> started = new ArrayList<>();
+        for (long[] interval : intervals) {
+            if (interval[1] <= now) {
+                started.add(interval);
+            }
+        }
+        if (started.isEmpty()) {
+            return -1L;
+        }
+
+        long[] covering = null;
+        for (long[] interval : started) {
+            if (interval[2] > now && (covering == null || interval[1] > covering[1])) {
+                covering = interval;
+            }
+        }
+        if (covering != null) {
+            return covering[0];
+        }
+        return started.stream()
+                .max(Comparator.comparingLong(interval -> interval[2]))
+                .orElseThrow()[0];
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+public class CacheClearingTestExecutionListener extends AbstractTestExecutionListener {
+
+    @Override
+    public void afterTestMethod(TestContext testContext) {
+        testContext.getApplicationContext().getBeanProvider(CacheManager.class).ifAvailable(cacheManager ->
+                cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear()));
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Sql(value = {"classpath:testDataAfterMethod.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class CachingConfigIntegrationTest {
+    private final CacheManager cacheManager;
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+
+    @Test
+    void findById_whenUserFound_thenUserCachedUntilUpdated() {
+        Cache users = cacheManager.getCache(CachingConfig.USERS);
+        UserDto user = userService.createUser(new UserDto(null, "Derius", "dewayne_remingtonjqs@diamonds.rf"));
+
+        userRepository.findById(user.getId());
+
+        assertThat(users.get(user.getId()), notNullValue());
+
+        userService.updateUser(new UserDto(null, "Hope", null), user.getId());
+
+        assertThat(users.get(user.getId()), nullValue());
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getName(), equalTo("Hope"));
+    }
+
+    @Test
+    void findById_whenUserNotFound_thenAbsenceNotCached() {
+        userRepository.findById(1L);
+
+        assertThat(cacheManager.getCache(CachingConfig.USERS).get(1L), nullValue());
+    }
+
+    @Test
+    void existsById_whenUserExists_thenExistenceCachedUntilRemoved() {
+        Cache userIds = cacheManager.getCache(CachingConfig.USER_IDS);
+        UserDto user = userService.createUser(new UserDto(null, "Derius", "dewayne_remingtonjqs@diamonds.rf"));
+
+        assertThat(userRepository.existsById(user.getId() + 1), equalTo(false));
+        assertThat(userRepository.existsById(user.getId()), equalTo(true));
+
+        assertThat(userIds.get(user.getId() + 1), nullValue());
+        assertThat(userIds.get(user.getId()), notNullValue());
+
+        userService.removeUser(user.getId());
+
+        assertThat(userIds.get(user.getId()), nullValue());
+        assertThat(userRepository.existsById(user.getId()), equalTo(false));
+    }
+
+    @Test
+    void findById_whenItemFound_thenItemCachedUntilUpdatedOrOwnerRemoved() {
+        Cache users = cacheManager.getCache(CachingConfig.USERS);
+        Cache items = cacheManager.getCache(CachingConfig.ITEMS);
+        UserDto owner = userService.createUser(new UserDto(null, "Derius", "dewayne_remingtonjqs@diamonds.rf"));
+        ItemResponseDto item = itemService.createItem(
+                new ItemRequestDto(null, "keyboard", "mechanical keyboard", true, null), owner.getId());
+
+        itemService.getItemById(item.getId(), owner.getId());
+
+        assertThat(users.get(owner.getId()), notNullValue());
+        assertThat(items.get(item.getId()), notNullValue());
+
+        itemService.updateItem(new ItemRequestDto(null, "logitech keyboard", null, null, null), item.getId(),
+                owner.getId());
+
+        assertThat(items.get(item.getId()), nullValue());
+        assertThat(itemService.getItemById(item.getId(), owner.getId()).getName(), equalTo("logitech keyboard"));
+
+        userService.removeUser(owner.getId());
+
+        assertThat(users.get(owner.getId()), nullValue());
+        assertThat(items.get(item.getId()), nullValue());
+        assertThat(itemRepository.findById(item.getId()).isPresent(), equalTo(false));
+    }
+
+    @Test
+    void createBooking_whenCachedItemMadeUnavailable_thenNotAvailableExceptionThrown() {
+        Cache items = cacheManager.getCache(CachingConfig.ITEMS);
+        UserDto owner = userService.createUser(new UserDto(null, "Derius", "dewayne_remingtonjqs@diamonds.rf"));
+        UserDto booker = userService.createUser(new UserDto(null, "Hope", "claudia_craigfp8@investigations.hsa"));
+        ItemResponseDto item = itemService.createItem(
+                new ItemRequestDto(null, "keyboard", "mechanical keyboard", true, null), owner.getId());
+        BookingRequestDto bookingDto = new BookingRequestDto(item.getId(), LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2));
+
+        itemService.getItemById(item.getId(), booker.getId());
+        assertThat(items.get(item.getId()), notNullValue());
+
+        itemService.updateItem(new ItemRequestDto(null, null, null, false, null), item.getId(), owner.getId());
+
+        assertThat(items.get(item.getId()), nullValue());
+        assertThrows(NotAvailableException.class, () -> bookingService.createBooking(bookingDto, booker.getId()));
+        assertThat(itemService.getItemById(item.getId(), booker.getId()).getIsAvailable(), equalTo(false));
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class VirtualThreadConfigTest {
+    @Test
+    @SuppressWarnings("unchecked")
+    void virtualThreadProtocolHandlerCustomizer_whenApplied_thenRequestsHandledOnVirtualThreads() throws Exception {
+        Http11NioProtocol protocolHandler = new Http11NioProtocol();
+        TomcatProtocolHandlerCustomizer<Http11NioProtocol> customizer =
+                (TomcatProtocolHandlerCustomizer<Http11NioProtocol>) new VirtualThreadConfig()
+                        .virtualThreadProtocolHandlerCustomizer();
+
+        customizer.customize(protocolHandler);
+
+        ExecutorService executor = (ExecutorService) protocolHandler.getExecutor();
+        CompletableFuture<Boolean> isVirtual = CompletableFuture.supplyAsync(
+                () -> Thread.currentThread().isVirtual(), executor);
+        assertThat(isVirtual.get(), equalTo(true));
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.booking.dto.NearestBooking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemAssemblerBenchmark {
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int pageSize;
+
+    private List<Item> itemsOfOwner;
+    private List<NearestBooking> nearestBookings;
+    private List<Comment> commentsOfItems;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        User booker = new User(2L, "Quanta", "deontay_deramusn@aspect.pjx");
+
+        itemsOfOwner = new ArrayList<>(pageSize);
+        nearestBookings = new ArrayList<>(pageSize * 2);
+        commentsOfItems = new ArrayList<>(pageSize * COMMENTS_PER_ITEM);
+
+        long bookingId = 1;
+        long commentId = 1;
+        for (long itemId = 1; itemId <= pageSize; itemId++) {
+            Item item = new Item(itemId, "item " + itemId, "description " + itemId, true, owner, null);
+            itemsOfOwner.add(item);
+
+            nearestBookings.add(new FixtureNearestBooking(bookingId++, itemId, booker.getId(), false));
+            nearestBookings.add(new FixtureNearestBooking(bookingId++, itemId, booker.getId(), true));
+
+            for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+                commentsOfItems.add(new Comment(commentId++, "comment", item, booker, now.minusHours(i)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void assembleItemsOfOwner(Blackhole blackhole) {
+        blackhole.consume(ItemAssembler.assembleItemsOfOwner(itemsOfOwner, nearestBookings, commentsOfItems));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemAssemblerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class FixtureNearestBooking implements NearestBooking {
+        private Long id;
+        private Long itemId;
+        private Long bookerId;
+        private Boolean isNext;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.dto.NearestBooking;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class ItemAssemblerTest {
+    private final ProjectionFactory factory = new SpelAwareProxyProjectionFactory();
+
+    @Test
+    void assembleItemsOfOwner_thenEveryItemGetsOnlyItsOwnBookingsAndComments() {
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        User booker = new User(2L, "Quanta", "deontay_deramusn@aspect.pjx");
+        Item item = new Item(1L, "keyboard", "keyboard description", true, owner, null);
+        Item item1 = new Item(2L, "table", "table description", true, owner, null);
+        Item item2 = new Item(3L, "chair", "chair description", true, owner, null);
+        NearestBooking lastBooking = nearestBooking(1L, item.getId(), booker.getId(), false);
+        NearestBooking lastBooking1 = nearestBooking(2L, item1.getId(), booker.getId(), false);
+        NearestBooking nextBooking = nearestBooking(3L, item.getId(), booker.getId(), true);
+        Comment comment = new Comment(1L, "comment", item, booker, LocalDateTime.now());
+        Comment comment1 = new Comment(2L, "another comment", item, booker, LocalDateTime.now());
+
+        List<ItemResponseDto> items = ItemAssembler.assembleItemsOfOwner(List.of(item, item1, item2),
+                List.of(lastBooking, lastBooking1, nextBooking), List.of(comment, comment1));
+
+        assertThat(items.size(), equalTo(3));
+        assertThat(items.get(0).getLastBooking().getId(), equalTo(lastBooking.getId()));
+        assertThat(items.get(0).getNextBooking().getId(), equalTo(nextBooking.getId()));
+        assertThat(items.get(0).getComments(), equalTo(List.of(CommentMapper.mapCommentToDto(comment),
+                CommentMapper.mapCommentToDto(comment1))));
+        assertThat(items.get(1).getLastBooking().getId(), equalTo(lastBooking1.getId()));
+        assertThat(items.get(1).getNextBooking(), nullValue());
+        assertThat(items.get(1).getComments(), empty());
+        assertThat(items.get(2).getLastBooking(), nullValue());
+        assertThat(items.get(2).getNextBooking(), nullValue());
+        assertThat(items.get(2).getComments(), empty());
+    }
+
+    private NearestBooking nearestBooking(Long id, Long itemId, Long bookerId, Boolean isNext) {
+        return factory.createProjection(NearestBooking.class,
+                Map.of("id", id, "itemId", itemId, "bookerId", bookerId, "isNext", isNext));
+    }
+}
@@ -8,10 +8,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.config.HttpCacheConfig;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
+import ru.practicum.shareit.item.dto.ItemBatchRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
@@ -20,14 +25,18 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(HttpCacheConfig.class)
 @ExtendWith(MockitoExtension.class)
 class ItemControllerTest {
     @MockBean
@@ -64,6 +73,30 @@ class ItemControllerTest {
         verify(itemService).createItem(any(), anyLong());
     }
 
+    @Test
+    @SneakyThrows
+    void createItems_whenRequestDtoIsValid_thenResponseStatusOkWithCreatedItemsInBody() {
+        List<ItemRequestDto> itemRequestDtos = List.of(
+                new ItemRequestDto(null, "ball", "for basketball", true, null),
+                new ItemRequestDto(null, "net", "for volleyball", true, 1L));
+        List<ItemResponseDto> itemResponseDtos = List.of(
+                new ItemResponseDto(1L, "ball", "for basketball", true, null, null, null, null),
+                new ItemResponseDto(2L, "net", "for volleyball", true, null, null, null, 1L));
+
+        when(itemService.createItems(itemRequestDtos, 1L)).thenReturn(itemResponseDtos);
+
+        mvc.perform(post("/items/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new ItemBatchRequestDto(itemRequestDtos)))
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(itemResponseDtos)));
+
+        verify(itemService).createItems(itemRequestDtos, 1L);
+    }
+
     @Test
     @SneakyThrows
     void updateItem_whenRequestDtoIsValid_thenResponseStatusOkWithResponseDtoInBody() {
@@ -114,6 +147,24 @@ class ItemControllerTest {
         verify(itemService).getItemById(anyLong(), anyLong());
     }
 
+    @Test
+    @SneakyThrows
+    void getItemById_whenInvoked_thenResponseRevalidatedPerUser() {
+        Long itemId = 1L;
+        itemResponseDto = new ItemResponseDto(1L, "ball", "for handball", true,
+                null, null, List.of(), null);
+
+        when(itemService.getItemById(itemId, 1L)).thenReturn(itemResponseDto);
+
+        mvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5"))
+                .andExpect(header().string(HttpHeaders.VARY, "X-Sharer-User-Id"))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
     @Test
     @SneakyThrows
     void getAllItemsOfOwner_whenFromIsNotNegativeAndSizeIsPositive_thenResponseStatusOkWithItemsResponseDtoCollectionInBody() {
@@ -145,6 +196,26 @@ class ItemControllerTest {
         verify(itemService).getAllItemsOfOwner(0, 2, 1L);
     }
 
+    @Test
+    @SneakyThrows
+    void getAllItemsOfOwner_whenAfterIsPresent_thenItemsAfterCursorReturned() {
+        itemResponseDto = new ItemResponseDto(3L, "ball", "for handball", true,
+                null, null, List.of(), null);
+
+        when(itemService.getAllItemsOfOwnerAfter(2L, 2, 1L)).thenReturn(List.of(itemResponseDto));
+
+        mvc.perform(get("/items")
+                        .param("size", "2")
+                        .param("after", "2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(itemResponseDto))));
+
+        verify(itemService, never()).getAllItemsOfOwner(anyInt(), anyInt(), anyLong());
+    }
+
     @Test
     @SneakyThrows
     void searchItemsByText_whenFromIsNotNegativeAndSizeIsPositive_thenResponseStatusOkWithItemsResponseDtoCollectionInBody() {
@@ -172,6 +243,7 @@ class ItemControllerTest {
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
                 .andExpect(content().json(mapper.writeValueAsString(foundItems)));
 
         verify(itemService).searchItemsByText(text, 0, 2);
@@ -199,4 +271,46 @@ class ItemControllerTest {
 
         verify(itemService).createComment(any(), anyLong(), anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability_whenPeriodIsValid_thenResponseStatusOkWithFreeIntervalsInBody() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        List<FreeIntervalDto> freeIntervals = List.of(new FreeIntervalDto(from.plusDays(1), from.plusDays(3)),
+                new FreeIntervalDto(from.plusDays(7), to));
+
+        when(itemService.getItemAvailability(1L, from, to, 1L)).thenReturn(freeIntervals);
+
+        mvc.perform(get("/items/{itemId}/availability", 1)
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(content().json(mapper.writeValueAsString(freeIntervals)));
+    }
+
+    @Test
+    @SneakyThrows
+    void searchItemsByText_whenPeriodGiven_thenSearchFreeItems() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime end = start.plusDays(2);
+        itemResponseDto = new ItemResponseDto(1L, "mobile phone", "for calls", true, null, null, List.of(), null);
+
+        when(itemService.searchFreeItemsByText("mobile", start, end, 0, 10)).thenReturn(List.of(itemResponseDto));
+
+        mvc.perform(get("/items/search")
+                        .param("text", "mobile")
+                        .param("start", start.toString())
+                        .param("end", end.toString())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(itemResponseDto))));
+
+        verify(itemService, never()).searchItemsByText(any(), anyInt(), anyInt());
+    }
+}
@@ -17,6 +17,8 @@ import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dao.UserRepository;
 
@@ -41,17 +43,18 @@ class ItemServiceIntegrationTest {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final ItemRequestRepository itemRequestRepository;
 
     @Test
     void updateItem_whenUserFoundAndItemFoundAndUpdateByOwnerAndOnlyNameFieldToUpdate_thenShouldSaveUpdatedItem() {
-        User user = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
-        ItemRequestDto oldItem = new ItemRequestDto(1L, "keyboard",
+        User user = new User(null, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        ItemRequestDto oldItem = new ItemRequestDto(null, "keyboard",
                 "keyboard description", true, null);
         userRepository.save(user);
 
         ItemResponseDto oldItemAfterSave = itemService.createItem(oldItem, user.getId());
 
-        assertThat(oldItemAfterSave.getId(), equalTo(1L));
+        assertThat(oldItemAfterSave.getId(), notNullValue());
         assertThat(oldItemAfterSave.getName(), equalTo(oldItem.getName()));
         assertThat(oldItemAfterSave.getDescription(), equalTo(oldItem.getDescription()));
         assertThat(oldItemAfterSave.getIsAvailable(), equalTo(oldItem.getIsAvailable()));
@@ -73,13 +76,43 @@ class ItemServiceIntegrationTest {
         assertThat(updatedItemAfterSave.getItemRequest(), nullValue());
     }
 
+    @Test
+    void createItems_whenUserFoundAndRequestFound_thenShouldSaveAllItemsWithSequenceIds() {
+        User owner = userRepository.save(new User(null, "Jenevieve", "cannon_leamon786@hearings.jwr"));
+        User applicant = userRepository.save(new User(null, "Quanta", "deontay_deramusn@aspect.pjx"));
+        ItemRequest itemRequest = itemRequestRepository.save(
+                new ItemRequest(null, "need stick", LocalDateTime.now(), applicant));
+        List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            itemRequestDtos.add(new ItemRequestDto(null, "item " + i, "item description " + i, true,
+                    i % 2 == 0 ? itemRequest.getId() : null));
+        }
+
+        List<ItemResponseDto> createdItems = itemService.createItems(itemRequestDtos, owner.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        TypedQuery<Item> query = entityManager.createQuery(
+                "SELECT i FROM Item i WHERE i.owner.id = :ownerId ORDER BY i.id", Item.class);
+        List<Item> itemsFromDb = query.setParameter("ownerId", owner.getId()).getResultList();
+
+        assertThat(createdItems.size(), equalTo(60));
+        assertThat(itemsFromDb.size(), equalTo(60));
+        for (int i = 0; i < 60; i++) {
+            assertThat(itemsFromDb.get(i).getId(), equalTo(createdItems.get(i).getId()));
+            assertThat(itemsFromDb.get(i).getName(), equalTo("item " + i));
+            assertThat(createdItems.get(i).getRequestId(), equalTo(i % 2 == 0 ? itemRequest.getId() : null));
+        }
+    }
+
     @Test
     void createComment_whenUserFoundAndItemFoundAndSuitableBookingsExists_thenShouldSaveComment() {
-        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
-        User booker = new User(2L, "Quanta", "deontay_deramusn@aspect.pjx");
-        Item item = new Item(1L, "keyboard", "keyboard description", true,
+        User owner = new User(null, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        User booker = new User(null, "Quanta", "deontay_deramusn@aspect.pjx");
+        Item item = new Item(null, "keyboard", "keyboard description", true,
                 owner, null);
-        Booking lastBooking = new Booking(1L, LocalDateTime.now().minusHours(9), LocalDateTime.now().minusHours(7),
+        Booking lastBooking = new Booking(null, LocalDateTime.now().minusHours(9),
+                LocalDateTime.now().minusHours(7),
                 item, booker, BookingStatus.APPROVED);
         CommentDto commentDtoToSave = new CommentDto(null, "Climb excuse miscellaneous",
                 null, null);
@@ -87,13 +120,13 @@ class ItemServiceIntegrationTest {
         itemRepository.save(item);
         bookingRepository.save(lastBooking);
 
-        itemService.createComment(commentDtoToSave, item.getId(), booker.getId());
+        CommentDto createdComment = itemService.createComment(commentDtoToSave, item.getId(), booker.getId());
 
         TypedQuery<Comment> query =
                 entityManager.createQuery("Select c from Comment c where c.text = :text", Comment.class);
         Comment commentAfterSave = query.setParameter("text", commentDtoToSave.getText()).getSingleResult();
 
-        assertThat(commentAfterSave.getId(), equalTo(1L));
+        assertThat(commentAfterSave.getId(), equalTo(createdComment.getId()));
         assertThat(commentAfterSave.getText(), equalTo(commentDtoToSave.getText()));
         assertThat(commentAfterSave.getItem(), equalTo(item));
         assertThat(commentAfterSave.getAuthor(), equalTo(booker));
@@ -102,23 +135,27 @@ class ItemServiceIntegrationTest {
 
     @Test
     void getAllItemsOfOwner_whenUserFound_thenReturnItemsCollectionWithNextAndLastBookingsAndComments() {
-        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
-        User booker = new User(2L, "Quanta", "deontay_deramusn@aspect.pjx");
-        User booker1 = new User(3L, "Bryan", "ntay_dmusn@aspect.pjx");
-        Item item = new Item(1L, "keyboard", "keyboard description", true,
+        User owner = new User(null, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        User booker = new User(null, "Quanta", "deontay_deramusn@aspect.pjx");
+        User booker1 = new User(null, "Bryan", "ntay_dmusn@aspect.pjx");
+        Item item = new Item(null, "keyboard", "keyboard description", true,
                 owner, null);
-        Item item1 = new Item(2L, "table", "table description", true,
+        Item item1 = new Item(null, "table", "table description", true,
                 owner, null);
-        Booking lastBooking = new Booking(1L, LocalDateTime.now().minusHours(9), LocalDateTime.now().minusHours(7),
+        Booking lastBooking = new Booking(null, LocalDateTime.now().minusHours(9),
+                LocalDateTime.now().minusHours(7),
                 item, booker, BookingStatus.APPROVED);
-        Booking lastBooking1 = new Booking(2L, LocalDateTime.now().minusHours(5), LocalDateTime.now().minusHours(2),
+        Booking lastBooking1 = new Booking(null, LocalDateTime.now().minusHours(5),
+                LocalDateTime.now().minusHours(2),
                 item1, booker, BookingStatus.WAITING);
-        Booking currentBooking = new Booking(3L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(3),
+        Booking currentBooking = new Booking(null, LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().plusHours(3),
                 item, booker1, BookingStatus.WAITING);
-        Booking nextBooking = new Booking(4L, LocalDateTime.now().plusHours(4), LocalDateTime.now().plusHours(5),
+        Booking nextBooking = new Booking(null, LocalDateTime.now().plusHours(4),
+                LocalDateTime.now().plusHours(5),
                 item1, booker1, BookingStatus.APPROVED);
-        CommentDto commentForItem = new CommentDto(1L, "comment", null, null);
-        CommentDto commentForItem1 = new CommentDto(2L, "Fox biol necklace", null, null);
+        CommentDto commentForItem = new CommentDto(null, "comment", null, null);
+        CommentDto commentForItem1 = new CommentDto(null, "Fox biol necklace", null, null);
         userRepository.saveAll(List.of(owner, booker, booker1));
         itemRepository.saveAll(List.of(item, item1));
         bookingRepository.saveAll(List.of(lastBooking, lastBooking1, currentBooking, nextBooking));
@@ -147,8 +184,11 @@ class ItemServiceIntegrationTest {
                 allOf(equalTo(returnedItems.get(0).getIsAvailable()), equalTo(itemsFromDb.get(0).getIsAvailable())));
         assertThat(item1.getIsAvailable(),
                 allOf(equalTo(returnedItems.get(1).getIsAvailable()), equalTo(itemsFromDb.get(1).getIsAvailable())));
-        assertThat(returnedItems.get(0).getComments().get(0), equalTo(commentAfterSave));
-        assertThat(returnedItems.get(1).getComments().get(0), equalTo(commentAfterSave1));
+        assertThat(returnedItems.get(0).getComments().get(0).getId(), equalTo(commentAfterSave.getId()));
+        assertThat(returnedItems.get(0).getComments().get(0).getText(), equalTo(commentAfterSave.getText()));
+        assertThat(returnedItems.get(0).getComments().get(0).getCreated(), notNullValue());
+        assertThat(returnedItems.get(1).getComments().get(0).getId(), equalTo(commentAfterSave1.getId()));
+        assertThat(returnedItems.get(1).getComments().get(0).getText(), equalTo(commentAfterSave1.getText()));
         assertThat(returnedItems.get(0).getLastBooking().getId(), equalTo(currentBooking.getId()));
         assertThat(returnedItems.get(0).getLastBooking().getBookerId(),
                 equalTo(currentBooking.getBooker().getId()));
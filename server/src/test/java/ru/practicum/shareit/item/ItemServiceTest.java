@@ -7,14 +7,15 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.dao.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.NearestBooking;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NoBodyInRequestException;
 import ru.practicum.shareit.exception.NotAvailableException;
@@ -22,10 +23,12 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -55,9 +58,15 @@ class ItemServiceTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
     @Captor
     private ArgumentCaptor<Item> itemArgumentCaptor;
     @Captor
+    private ArgumentCaptor<List<Item>> itemListArgumentCaptor;
+    @Captor
     private ArgumentCaptor<Comment> commentArgumentCaptor;
 
     @Test
@@ -120,6 +129,58 @@ class ItemServiceTest {
         verify(itemRequestRepository).findById(anyLong());
     }
 
+    @Test
+    void createItems_whenUserFoundAndRequestsFound_thenSaveAllItemsAtOnce() {
+        User user = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        ItemRequest requestOfItem = new ItemRequest(1L, "need stick", LocalDateTime.now(), new User());
+        List<ItemRequestDto> itemRequestDtos = List.of(
+                new ItemRequestDto(5L, "keyboard", "keyboard description", true, null),
+                new ItemRequestDto(null, "stick", "stick description", true, 1L));
+        List<Item> itemsAfterSave = List.of(
+                new Item(1L, "keyboard", "keyboard description", true, user, null),
+                new Item(2L, "stick", "stick description", true, user, requestOfItem));
+
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findAllById(Set.of(1L))).thenReturn(List.of(requestOfItem));
+        when(itemRepository.saveAll(itemListArgumentCaptor.capture())).thenReturn(itemsAfterSave);
+
+        List<ItemResponseDto> createdItems = itemService.createItems(itemRequestDtos, user.getId());
+
+        List<Item> savedItems = itemListArgumentCaptor.getValue();
+        assertThat(savedItems.size(), equalTo(2));
+        assertThat(savedItems.get(0).getId(), equalTo(null));
+        assertThat(savedItems.get(0).getItemRequest(), equalTo(null));
+        assertThat(savedItems.get(1).getItemRequest(), equalTo(requestOfItem));
+        assertThat(createdItems.size(), equalTo(2));
+        assertThat(createdItems.get(0).getId(), equalTo(1L));
+        assertThat(createdItems.get(1).getRequestId(), equalTo(requestOfItem.getId()));
+        verify(userRepository).findById(user.getId());
+        verify(itemSearchIndex, times(2)).index(any());
+        verify(itemRepository, never()).save(any());
+    }
+
+    @Test
+    void createItems_whenRequestNotFound_thenNotFoundExceptionThrown() {
+        User user = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        List<ItemRequestDto> itemRequestDtos = List.of(
+                new ItemRequestDto(null, "keyboard", "keyboard description", true, 1L),
+                new ItemRequestDto(null, "stick", "stick description", true, 2L));
+
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findAllById(Set.of(1L, 2L)))
+                .thenReturn(List.of(new ItemRequest(1L, "need keyboard", LocalDateTime.now(), new User())));
+
+        assertThrows(NotFoundException.class, () -> itemService.createItems(itemRequestDtos, user.getId()));
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createItems_whenNoItemsInRequest_thenNoBodyInRequestExceptionThrown() {
+        assertThrows(NoBodyInRequestException.class, () -> itemService.createItems(List.of(), 1L));
+        verify(userRepository, never()).findById(any());
+        verify(itemRepository, never()).saveAll(any());
+    }
+
     @Test
     void createItem_whenUserNotFound_thenNotFoundExceptionThrown() {
         User user = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
@@ -278,22 +339,15 @@ class ItemServiceTest {
         Item item = new Item(1L, "keyboard", "keyboard description", true,
                 owner, null);
         ProjectionFactory factory = new SpelAwareProxyProjectionFactory();
-        BookingShort lastBooking = factory.createProjection(BookingShort.class);
-        lastBooking.setId(1L);
-        lastBooking.setBooker(booker);
-        BookingShort nextBooking = factory.createProjection(BookingShort.class);
-        nextBooking.setId(2L);
-        nextBooking.setBooker(booker1);
+        NearestBooking lastBooking = factory.createProjection(NearestBooking.class,
+                Map.of("id", 1L, "itemId", item.getId(), "bookerId", booker.getId(), "isNext", false));
+        NearestBooking nextBooking = factory.createProjection(NearestBooking.class,
+                Map.of("id", 2L, "itemId", item.getId(), "bookerId", booker1.getId(), "isNext", true));
         Comment comment = new Comment(1L, "comment", item, booker, LocalDateTime.now().plusHours(3));
 
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository
-                .findFirstByItemAndStartBeforeAndEndAfterAndStatusInOrderByStartAsc(any(), any(), any(), any()))
-                .thenReturn(null);
-        when(bookingRepository.findFirstByItemAndEndBeforeAndStatusInOrderByEndDesc(any(), any(), any()))
-                .thenReturn(lastBooking);
-        when(bookingRepository.findFirstByItemAndStartAfterAndStatusInOrderByStartAsc(any(), any(), any()))
-                .thenReturn(nextBooking);
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(item.getId())), any(), anyList()))
+                .thenReturn(List.of(lastBooking, nextBooking));
         when(commentRepository.findByItem(item)).thenReturn(List.of(comment));
 
         ItemResponseDto returnedItem = itemService.getItemById(item.getId(), owner.getId());
@@ -303,27 +357,111 @@ class ItemServiceTest {
         assertThat(returnedItem.getDescription(), equalTo(item.getDescription()));
         assertThat(returnedItem.getIsAvailable(), equalTo(item.getIsAvailable()));
         assertThat(returnedItem.getLastBooking().getId(), equalTo(lastBooking.getId()));
-        assertThat(returnedItem.getLastBooking().getBookerId(), equalTo(lastBooking.getBooker().getId()));
+        assertThat(returnedItem.getLastBooking().getBookerId(), equalTo(lastBooking.getBookerId()));
         assertThat(returnedItem.getNextBooking().getId(), equalTo(nextBooking.getId()));
-        assertThat(returnedItem.getNextBooking().getBookerId(), equalTo(nextBooking.getBooker().getId()));
+        assertThat(returnedItem.getNextBooking().getBookerId(), equalTo(nextBooking.getBookerId()));
         assertThat(returnedItem.getComments().size(), equalTo(1));
         assertThat(returnedItem.getComments().get(0), equalTo(CommentMapper.mapCommentToDto(comment)));
     }
 
     @Test
-    void getItemById_whenItemFoundAndInvokedNotByOwner_thenReturnItemWithoutNextAndLastBookingsAndWithComments() {
+    void getItemById_whenBookingIntervalIndexEnabled_thenReturnNextAndLastBookingsFromIndex() {
         User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
         User booker = new User(2L, "Quanta", "deontay_deramusn@aspect.pjx");
-        User booker1 = new User(3L, "Bryan", "ntay_dmusn@aspect.pjx");
         Item item = new Item(1L, "keyboard", "keyboard description", true,
                 owner, null);
         ProjectionFactory factory = new SpelAwareProxyProjectionFactory();
-        BookingShort lastBooking = factory.createProjection(BookingShort.class);
-        lastBooking.setId(1L);
-        lastBooking.setBooker(booker);
-        BookingShort nextBooking = factory.createProjection(BookingShort.class);
-        nextBooking.setId(2L);
-        nextBooking.setBooker(booker1);
+        NearestBooking nextBooking = factory.createProjection(NearestBooking.class,
+                Map.of("id", 2L, "itemId", item.getId(), "bookerId", booker.getId(), "isNext", true));
+
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingIntervalIndex.isEnabled()).thenReturn(true);
+        when(bookingIntervalIndex.findLastAndNextBookings(eq(List.of(item.getId())), any()))
+                .thenReturn(List.of(nextBooking));
+        when(commentRepository.findByItem(item)).thenReturn(List.of());
+
+        ItemResponseDto returnedItem = itemService.getItemById(item.getId(), owner.getId());
+
+        assertThat(returnedItem.getLastBooking(), equalTo(null));
+        assertThat(returnedItem.getNextBooking().getId(), equalTo(nextBooking.getId()));
+        assertThat(returnedItem.getNextBooking().getBookerId(), equalTo(booker.getId()));
+        verify(bookingRepository, never()).findLastAndNextBookings(any(), any(), any());
+    }
+
+    @Test
+    void getItemAvailability_whenBookingsInPeriod_thenReturnMergedFreeIntervals() {
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        Item item = new Item(1L, "keyboard", "keyboard description", true, owner, null);
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        List<BookingInterval> bookedIntervals = List.of(
+                bookingInterval(from.minusDays(1), from.plusDays(1)),
+                bookingInterval(from.plusDays(3), from.plusDays(5)),
+                bookingInterval(from.plusDays(4), from.plusDays(6)),
+                bookingInterval(from.plusDays(6), from.plusDays(7)));
+
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.streamIntervalsByItemIdAndStatus(item.getId(), BookingStatus.APPROVED, from, to))
+                .thenReturn(bookedIntervals.stream());
+
+        List<FreeIntervalDto> freeIntervals = itemService.getItemAvailability(item.getId(), from, to, owner.getId());
+
+        assertThat(freeIntervals, equalTo(List.of(
+                new FreeIntervalDto(from.plusDays(1), from.plusDays(3)),
+                new FreeIntervalDto(from.plusDays(7), to))));
+    }
+
+    @Test
+    void getItemAvailability_whenBookingIntervalIndexEnabledAndPeriodFullyBooked_thenReturnEmptyList() {
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        Item item = new Item(1L, "keyboard", "keyboard description", true, owner, null);
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(2);
+
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingIntervalIndex.isEnabled()).thenReturn(true);
+        when(bookingIntervalIndex.findApprovedIntervals(item.getId(), from, to))
+                .thenReturn(List.of(bookingInterval(from, from.plusDays(1)), bookingInterval(from.plusDays(1), to)));
+
+        List<FreeIntervalDto> freeIntervals = itemService.getItemAvailability(item.getId(), from, to, owner.getId());
+
+        assertThat(freeIntervals, equalTo(List.of()));
+        verify(bookingRepository, never()).streamIntervalsByItemIdAndStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void getItemAvailability_whenPeriodEndIsNotAfterStart_thenIllegalArgumentExceptionThrown() {
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        Item item = new Item(1L, "keyboard", "keyboard description", true, owner, null);
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                itemService.getItemAvailability(item.getId(), from, from, owner.getId()));
+        verify(bookingRepository, never()).streamIntervalsByItemIdAndStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void getItemAvailability_whenItemNotFound_thenNotFoundExceptionThrown() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () ->
+                itemService.getItemAvailability(1L, from, from.plusDays(1), 1L));
+    }
+
+    @Test
+    void getItemById_whenItemFoundAndInvokedNotByOwner_thenReturnItemWithoutNextAndLastBookingsAndWithComments() {
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        User booker = new User(2L, "Quanta", "deontay_deramusn@aspect.pjx");
+        Item item = new Item(1L, "keyboard", "keyboard description", true,
+                owner, null);
         Comment comment = new Comment(1L, "comment", item, booker, LocalDateTime.now().plusHours(3));
 
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
@@ -331,10 +469,7 @@ class ItemServiceTest {
 
         ItemResponseDto returnedItem = itemService.getItemById(item.getId(), booker.getId());
 
-        verify(bookingRepository, never())
-                .findFirstByItemAndStartBeforeAndEndAfterAndStatusInOrderByStartAsc(any(), any(), any(), any());
-        verify(bookingRepository, never()).findFirstByItemAndEndBeforeAndStatusInOrderByEndDesc(any(), any(), any());
-        verify(bookingRepository, never()).findFirstByItemAndStartAfterAndStatusInOrderByStartAsc(any(), any(), any());
+        verify(bookingRepository, never()).findLastAndNextBookings(any(), any(), any());
 
         assertThat(returnedItem.getId(), equalTo(item.getId()));
         assertThat(returnedItem.getName(), equalTo(item.getName()));
@@ -361,29 +496,28 @@ class ItemServiceTest {
     void getAllItemsOfOwner_whenUserFound_thenReturnItemsCollectionWithNextAndLastBookingsAndComments() {
         User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
         User booker = new User(2L, "Quanta", "deontay_deramusn@aspect.pjx");
-        User booker1 = new User(3L, "Bryan", "ntay_dmusn@aspect.pjx");
         Item item = new Item(1L, "keyboard", "keyboard description", true,
                 owner, null);
         Item item1 = new Item(2L, "table", "table description", true,
                 owner, null);
-        Booking lastBooking = new Booking(1L, LocalDateTime.now().minusHours(3), LocalDateTime.now().minusHours(2),
-                item, booker, BookingStatus.APPROVED);
-        Booking currentBooking = new Booking(2L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
-                item1, booker, BookingStatus.WAITING);
-        Booking nextBooking = new Booking(3L, LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(3),
-                item, booker1, BookingStatus.WAITING);
-        Booking nextBooking1 = new Booking(4L, LocalDateTime.now().plusHours(4), LocalDateTime.now().plusHours(5),
-                item1, booker1, BookingStatus.APPROVED);
+        ProjectionFactory factory = new SpelAwareProxyProjectionFactory();
+        NearestBooking lastBooking = factory.createProjection(NearestBooking.class,
+                Map.of("id", 1L, "itemId", item.getId(), "bookerId", 2L, "isNext", false));
+        NearestBooking currentBooking = factory.createProjection(NearestBooking.class,
+                Map.of("id", 2L, "itemId", item1.getId(), "bookerId", 2L, "isNext", false));
+        NearestBooking nextBooking = factory.createProjection(NearestBooking.class,
+                Map.of("id", 3L, "itemId", item.getId(), "bookerId", 3L, "isNext", true));
+        NearestBooking nextBooking1 = factory.createProjection(NearestBooking.class,
+                Map.of("id", 4L, "itemId", item1.getId(), "bookerId", 3L, "isNext", true));
         Comment commentForItem = new Comment(1L, "comment", item, booker, LocalDateTime.now().plusHours(6));
         Comment commentForItem1 = new Comment(2L, "Fox biol necklace", item1, booker,
                 LocalDateTime.now().plusHours(6));
 
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerOrderByIdAsc(any(), any())).thenReturn(new PageImpl<>(List.of(item, item1)));
-        when(bookingRepository.findAllLastBookings(anyList(), any(), anySet())).thenReturn(List.of(lastBooking));
-        when(bookingRepository.findAllCurrentBookings(anyList(), any(), anySet())).thenReturn(List.of(currentBooking));
-        when(bookingRepository.findAllNextBookings(anyList(), any(), anySet()))
-                .thenReturn(List.of(nextBooking, nextBooking1));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(owner.getId())).thenReturn(owner);
+        when(itemRepository.findByOwnerOrderByIdAsc(any(), any())).thenReturn(List.of(item, item1));
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(item.getId(), item1.getId())), any(), anyList()))
+                .thenReturn(List.of(lastBooking, currentBooking, nextBooking, nextBooking1));
         when(commentRepository.findByItemIn(anyList())).thenReturn(List.of(commentForItem, commentForItem1));
 
         Collection<ItemResponseDto> returnedItems = itemService.getAllItemsOfOwner(0, 2, owner.getId());
@@ -400,27 +534,69 @@ class ItemServiceTest {
         assertThat(returnedItemsInList.get(1).getIsAvailable(), equalTo(item1.getIsAvailable()));
         assertThat(returnedItemsInList.get(0).getLastBooking().getId(), equalTo(lastBooking.getId()));
         assertThat(returnedItemsInList.get(0).getLastBooking().getBookerId(),
-                equalTo(lastBooking.getBooker().getId()));
+                equalTo(lastBooking.getBookerId()));
         assertThat(returnedItemsInList.get(1).getLastBooking().getId(), equalTo(currentBooking.getId()));
         assertThat(returnedItemsInList.get(1).getLastBooking().getBookerId(),
-                equalTo(currentBooking.getBooker().getId()));
+                equalTo(currentBooking.getBookerId()));
         assertThat(returnedItemsInList.get(0).getNextBooking().getId(), equalTo(nextBooking.getId()));
         assertThat(returnedItemsInList.get(0).getNextBooking().getBookerId(),
-                equalTo(nextBooking.getBooker().getId()));
+                equalTo(nextBooking.getBookerId()));
         assertThat(returnedItemsInList.get(1).getNextBooking().getId(), equalTo(nextBooking1.getId()));
         assertThat(returnedItemsInList.get(1).getNextBooking().getBookerId(),
-                equalTo(nextBooking1.getBooker().getId()));
+                equalTo(nextBooking1.getBookerId()));
         assertThat(returnedItemsInList.get(0).getComments().get(0),
                 equalTo(CommentMapper.mapCommentToDto(commentForItem)));
         assertThat(returnedItemsInList.get(1).getComments().get(0),
                 equalTo(CommentMapper.mapCommentToDto(commentForItem1)));
     }
 
+    @Test
+    void getAllItemsOfOwner_whenOwnerHasNoItems_thenReturnEmptyCollectionWithoutBookingLookup() {
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(owner.getId())).thenReturn(owner);
+        when(itemRepository.findByOwnerOrderByIdAsc(any(), any())).thenReturn(List.of());
+
+        Collection<ItemResponseDto> returnedItems = itemService.getAllItemsOfOwner(0, 2, owner.getId());
+
+        assertThat(returnedItems.size(), equalTo(0));
+        verify(bookingRepository, never()).findLastAndNextBookings(any(), any(), any());
+        verify(commentRepository, never()).findByItemIn(any());
+    }
+
+    @Test
+    void getAllItemsOfOwnerAfter_whenUserFound_thenReturnItemsWithIdGreaterThanCursor() {
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        Item item = new Item(3L, "lamp", "lamp description", true, owner, null);
+
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(owner.getId(), 2L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(item));
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(item.getId())), any(), any()))
+                .thenReturn(List.of());
+        when(commentRepository.findByItemIn(List.of(item))).thenReturn(List.of());
+
+        List<ItemResponseDto> returnedItems =
+                new ArrayList<>(itemService.getAllItemsOfOwnerAfter(2L, 2, owner.getId()));
+
+        assertThat(returnedItems.size(), equalTo(1));
+        assertThat(returnedItems.get(0).getId(), equalTo(item.getId()));
+    }
+
+    @Test
+    void getAllItemsOfOwnerAfter_whenUserNotFound_thenNotFoundExceptionThrown() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.getAllItemsOfOwnerAfter(2L, 2, 1L));
+        verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void getAllItemsOfOwner_whenUserNotFound_thenNotFoundExceptionThrown() {
         User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
 
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.empty());
+        when(userRepository.existsById(owner.getId())).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> itemService.getAllItemsOfOwner(0, 2, owner.getId()));
     }
@@ -432,7 +608,7 @@ class ItemServiceTest {
         Item item = new Item(1L, "keyboard", "keyboard description", true,
                 owner, null);
 
-        when(itemRepository.searchItemsByText(anyString(), any())).thenReturn(new PageImpl<>(List.of(item)));
+        when(itemRepository.searchItemsByText(anyString(), any())).thenReturn(List.of(item));
 
         Collection<ItemResponseDto> returnedItems = itemService.searchItemsByText(text, 0, 2);
         List<ItemResponseDto> returnedItemsInList = new ArrayList<>(returnedItems);
@@ -444,6 +620,25 @@ class ItemServiceTest {
         assertThat(returnedItemsInList.get(0).getIsAvailable(), equalTo(item.getIsAvailable()));
     }
 
+    @Test
+    void searchItemsByText_whenSearchIndexEnabled_thenHydrateOnlyFoundIdsInIndexOrder() {
+        String text = "key";
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        Item item1 = new Item(1L, "keyboard", "keyboard description", true, owner, null);
+        Item item2 = new Item(2L, "mouse", "mouse for keyboard", true, owner, null);
+
+        when(itemSearchIndex.isEnabled()).thenReturn(true);
+        when(itemSearchIndex.search(text, 2L, 2)).thenReturn(List.of(2L, 1L));
+        when(itemRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(item1, item2));
+
+        List<ItemResponseDto> returnedItems = new ArrayList<>(itemService.searchItemsByText(text, 2, 2));
+
+        assertThat(returnedItems.size(), equalTo(2));
+        assertThat(returnedItems.get(0).getId(), equalTo(item2.getId()));
+        assertThat(returnedItems.get(1).getId(), equalTo(item1.getId()));
+        verify(itemRepository, never()).searchItemsByText(anyString(), any());
+    }
+
     @Test
     void searchItemsByText_whenTextIsBlank_thenReturnEmptyCollection() {
         String text = "";
@@ -455,6 +650,35 @@ class ItemServiceTest {
         verify(itemRepository, never()).searchItemsByText(text, PageRequest.of(0, 2));
     }
 
+    @Test
+    void searchFreeItemsByText_whenPeriodIsValid_thenReturnFreeItemsCollection() {
+        String text = "key";
+        User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        Item item = new Item(1L, "keyboard", "keyboard description", true, owner, null);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime end = start.plusDays(2);
+
+        when(itemRepository.searchFreeItemsByText(text, start, end, PageRequest.of(1, 2))).thenReturn(List.of(item));
+
+        List<ItemResponseDto> returnedItems = new ArrayList<>(itemService.searchFreeItemsByText(text, start, end,
+                2, 2));
+
+        assertThat(returnedItems.size(), equalTo(1));
+        assertThat(returnedItems.get(0).getId(), equalTo(item.getId()));
+        verify(itemRepository, never()).searchItemsByText(anyString(), any());
+    }
+
+    @Test
+    void searchFreeItemsByText_whenPeriodIsNotComplete_thenIllegalArgumentExceptionThrown() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                itemService.searchFreeItemsByText("key", start, null, 0, 2));
+        assertThrows(IllegalArgumentException.class, () ->
+                itemService.searchFreeItemsByText("key", start, start.minusDays(1), 0, 2));
+        verify(itemRepository, never()).searchFreeItemsByText(any(), any(), any(), any());
+    }
+
     @Test
     void createComment_whenUserFoundAndItemFoundAndSuitableBookingsExists_thenSaveComment() {
         User owner = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
@@ -532,4 +756,9 @@ class ItemServiceTest {
                 itemService.createComment(commentDtoToSave, item.getId(), booker.getId()));
         verify(commentRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    private static BookingInterval bookingInterval(LocalDateTime start, LocalDateTime end) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BookingInterval.class,
+                Map.of("start", start, "end", end));
+    }
+}
@@ -6,10 +6,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
@@ -31,6 +33,7 @@ class ItemRepositoryTest {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
     private PageRequest pageRequest;
     private User owner1;
     private User owner2;
@@ -66,44 +69,80 @@ class ItemRepositoryTest {
     @Test
     void findByOwnerWithPagination() {
         pageRequest = PageRequest.of(0, 1);
-        Page<Item> foundItems = itemRepository.findByOwnerOrderByIdAsc(owner1, pageRequest);
+        List<Item> foundItems = itemRepository.findByOwnerOrderByIdAsc(owner1, pageRequest);
 
-        assertThat(foundItems.getTotalElements(), equalTo(2L));
-        assertThat(foundItems.getTotalPages(), equalTo(2));
-        assertThat(foundItems.getContent().get(0), equalTo(item1));
+        assertThat(foundItems.size(), equalTo(1));
+        assertThat(foundItems.get(0), equalTo(item1));
 
         pageRequest = PageRequest.of(1, 1);
         foundItems = itemRepository.findByOwnerOrderByIdAsc(owner1, pageRequest);
 
-        assertThat(foundItems.getTotalElements(), equalTo(2L));
-        assertThat(foundItems.getTotalPages(), equalTo(2));
-        assertThat(foundItems.getContent().get(0), equalTo(item3));
+        assertThat(foundItems.size(), equalTo(1));
+        assertThat(foundItems.get(0), equalTo(item3));
     }
 
     @Test
-    void findByOwner() {
-        List<Item> foundItems = itemRepository.findByOwner(owner2);
+    void findByOwnerIdAndIdGreaterThanOrderByIdAsc() {
+        pageRequest = PageRequest.of(0, 1);
+        List<Item> foundItems = itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(owner1.getId(), 0L,
+                pageRequest);
 
-        assertThat(foundItems.size(), equalTo(2));
-        assertThat(foundItems, allOf(hasItem(item4), hasItem(item2)));
+        assertThat(foundItems, equalTo(List.of(item1)));
+
+        foundItems = itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(owner1.getId(), item1.getId(),
+                pageRequest);
+
+        assertThat(foundItems, equalTo(List.of(item3)));
+    }
+
+    @Test
+    void findIdsByOwnerId() {
+        List<Long> foundIds = itemRepository.findIdsByOwnerId(owner1.getId());
+
+        assertThat(foundIds, containsInAnyOrder(item1.getId(), item3.getId()));
     }
 
     @Test
     void searchItemsByText() {
         pageRequest = PageRequest.of(0, 2);
-        Page<Item> foundItems = itemRepository.searchItemsByText("cool", pageRequest);
+        List<Item> foundItems = itemRepository.searchItemsByText("cool", pageRequest);
 
-        assertThat(foundItems.getTotalElements(), equalTo(3L));
-        assertThat(foundItems.getTotalPages(), equalTo(2));
-        assertThat(foundItems.getContent().get(0), equalTo(item1));
-        assertThat(foundItems.getContent().get(1), equalTo(item3));
+        assertThat(foundItems.size(), equalTo(2));
+        assertThat(foundItems.get(0), equalTo(item3));
+        assertThat(foundItems.get(1), equalTo(item4));
 
         pageRequest = PageRequest.of(1, 2);
         foundItems = itemRepository.searchItemsByText("cool", pageRequest);
 
-        assertThat(foundItems.getTotalElements(), equalTo(3L));
-        assertThat(foundItems.getTotalPages(), equalTo(2));
-        assertThat(foundItems.getContent().get(0), equalTo(item4));
+        assertThat(foundItems.size(), equalTo(1));
+        assertThat(foundItems.get(0), equalTo(item1));
+    }
+
+    @Test
+    void searchItemsByTextSkipsUnavailableItems() {
+        item3.setIsAvailable(false);
+        itemRepository.save(item3);
+
+        List<Item> foundItems = itemRepository.searchItemsByText("COOLER", PageRequest.of(0, 10));
+
+        assertThat(foundItems.size(), equalTo(0));
+    }
+
+    @Test
+    void searchFreeItemsByTextSkipsItemsWithApprovedBookingInPeriod() {
+        User booker = userRepository.save(new User(null, "Quanta", "deontay_deramusn@aspect.pjx"));
+        bookingRepository.saveAll(List.of(
+                new Booking(null, currentTime.plusDays(1), currentTime.plusDays(3), item3, booker,
+                        BookingStatus.APPROVED),
+                new Booking(null, currentTime.plusDays(1), currentTime.plusDays(3), item4, booker,
+                        BookingStatus.WAITING),
+                new Booking(null, currentTime.plusDays(3), currentTime.plusDays(4), item1, booker,
+                        BookingStatus.APPROVED)));
+
+        List<Item> foundItems = itemRepository.searchFreeItemsByText("cool", currentTime.plusDays(2),
+                currentTime.plusDays(2).plusHours(12), PageRequest.of(0, 10));
+
+        assertThat(foundItems, equalTo(List.of(item4, item1)));
     }
 
     @Test
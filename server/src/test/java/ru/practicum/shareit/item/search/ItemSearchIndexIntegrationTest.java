@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "shareit.item-search-index.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Sql(value = {"classpath:testDataAfterMethod.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ItemSearchIndexIntegrationTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void rebuildIndex() {
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void searchItemsByText_whenOwnerRemoved_thenOwnerItemsNoLongerFoundAndPagesStayFull() {
+        UserDto removedOwner = userService.createUser(new UserDto(null, "Fredie", "jodelle_zajacr9jm@wonder.ed"));
+        UserDto owner = userService.createUser(new UserDto(null, "Aarion", "lenny_friedmanhpxd@send.nx"));
+        itemService.createItem(
+                new ItemRequestDto(null, "cool drill", "drill for concrete", true, null), removedOwner.getId());
+        ItemResponseDto item = itemService.createItem(
+                new ItemRequestDto(null, "cool saw", "saw for wood", true, null), owner.getId());
+
+        userService.removeUser(removedOwner.getId());
+
+        assertThat(itemSearchIndex.search("drill", 0, 10), empty());
+        assertThat(itemService.searchItemsByText("cool", 0, 1).stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toList()), equalTo(List.of(item.getId())));
+    }
+
+    @Test
+    void createItems_whenTransactionRolledBack_thenItemsNotIndexed() {
+        UserDto owner = userService.createUser(new UserDto(null, "Aarion", "lenny_friedmanhpxd@send.nx"));
+        List<ItemRequestDto> itemRequestDtos = List.of(
+                new ItemRequestDto(null, "cool drill", "drill for concrete", true, null),
+                new ItemRequestDto(null, null, "saw for wood", true, null));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> itemService.createItems(itemRequestDtos, owner.getId()));
+
+        assertThat(itemSearchIndex.search("drill", 0, 10), empty());
+        assertThat(itemService.searchItemsByText("cool", 0, 10), empty());
+    }
+
+    @Test
+    void createItems_whenTransactionCommitted_thenItemsIndexed() {
+        UserDto owner = userService.createUser(new UserDto(null, "Aarion", "lenny_friedmanhpxd@send.nx"));
+        List<ItemResponseDto> items = itemService.createItems(List.of(
+                new ItemRequestDto(null, "cool drill", "drill for concrete", true, null),
+                new ItemRequestDto(null, "cool saw", "saw for wood", true, null)), owner.getId());
+
+        assertThat(itemSearchIndex.search("cool", 0, 10), equalTo(items.stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toList())));
+    }
+}
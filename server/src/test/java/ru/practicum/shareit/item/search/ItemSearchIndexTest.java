@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+    private ItemSearchIndex itemSearchIndex;
+    private User owner;
+    private Item item1;
+    private Item item2;
+    private Item item3;
+    private Item item4;
+
+    @BeforeEach
+    void setUp() {
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+        owner = new User(1L, "Darus", "kenika_plummeryps@networks.or");
+        item1 = new Item(1L, "spoon", "Cool steel spoon", true, owner, null);
+        item2 = new Item(2L, "guitar", "wooden guitar", true, owner, null);
+        item3 = new Item(3L, "Cooler", "cooler with refrigerator", true, owner, null);
+        item4 = new Item(4L, "cool trampoline", "trampoline 5x5", true, owner, null);
+    }
+
+    @Test
+    void search_whenIndexRebuilt_thenReturnNameMatchesFirstAndPaginate() {
+        when(itemRepository.findByIsAvailableTrue()).thenReturn(List.of(item4, item2, item1, item3));
+
+        itemSearchIndex.rebuild();
+
+        assertThat(itemSearchIndex.search("cOoL", 0, 2), equalTo(List.of(3L, 4L)));
+        assertThat(itemSearchIndex.search("cool", 2, 2), equalTo(List.of(1L)));
+        assertThat(itemSearchIndex.search("cool", 4, 2), empty());
+        assertThat(itemSearchIndex.search("oo", 0, 10), equalTo(List.of(1L, 3L, 4L, 2L)));
+        assertThat(itemSearchIndex.search("drum", 0, 10), empty());
+        assertThat(itemSearchIndex.search("ool ste", 0, 10), equalTo(List.of(1L)));
+    }
+
+    @Test
+    void index_whenItemCreatedUpdatedOrMadeUnavailable_thenSearchReflectsChanges() {
+        itemSearchIndex.index(item2);
+        itemSearchIndex.index(item1);
+        assertThat(itemSearchIndex.search("guitar", 0, 10), equalTo(List.of(2L)));
+
+        itemSearchIndex.index(new Item(2L, "bass", "electric bass", true, owner, null));
+        assertThat(itemSearchIndex.search("guitar", 0, 10), empty());
+        assertThat(itemSearchIndex.search("bass", 0, 10), equalTo(List.of(2L)));
+
+        itemSearchIndex.index(new Item(1L, "spoon", "Cool steel spoon", false, owner, null));
+        assertThat(itemSearchIndex.search("spoon", 0, 10), empty());
+        assertThat(itemSearchIndex.search("s", 0, 10), equalTo(List.of(2L)));
+    }
+
+    @Test
+    void removeItemsOfOwner_whenOwnerRemoved_thenOnlyOtherOwnersItemsFound() {
+        User otherOwner = new User(2L, "Mark", "dyana_jaynencdh@asin.auh");
+        itemSearchIndex.index(item1);
+        itemSearchIndex.index(new Item(5L, "coolbox", "box for drinks", true, otherOwner, null));
+
+        itemSearchIndex.removeItemsOfOwner(owner.getId());
+
+        assertThat(itemSearchIndex.search("cool", 0, 10), equalTo(List.of(5L)));
+        assertThat(itemSearchIndex.search("spoon", 0, 10), empty());
+    }
+
+    @Test
+    void search_whenIndexDisabled_thenNothingIndexed() {
+        itemSearchIndex = new ItemSearchIndex(itemRepository, false);
+
+        itemSearchIndex.rebuild();
+        itemSearchIndex.index(item1);
+
+        assertThat(itemSearchIndex.isEnabled(), equalTo(false));
+        assertThat(itemSearchIndex.search("spoon", 0, 10), empty());
+        verify(itemRepository, never()).findByIsAvailableTrue();
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void parse_whenTimestampAndId_thenReturnCursor() {
+        KeysetCursor cursor = KeysetCursor.parse(encode("2023-03-01T12:30:15,7"));
+
+        assertThat(cursor, equalTo(new KeysetCursor(LocalDateTime.of(2023, 3, 1, 12, 30, 15), 7L)));
+    }
+
+    @Test
+    void parse_whenEncodedByServer_thenReturnSameCursor() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2023, 3, 1, 12, 30, 15, 123456789), 7L);
+
+        assertThat(KeysetCursor.parse(cursor.encode()), equalTo(cursor));
+    }
+
+    @Test
+    void parse_whenNotBase64_thenIllegalArgumentExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.parse("2023-03-01T12:30:15,7"));
+    }
+
+    @Test
+    void parse_whenSeparatorMissing_thenIllegalArgumentExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.parse(encode("2023-03-01T12:30:15")));
+    }
+
+    @Test
+    void parse_whenIdIsNotNumber_thenIllegalArgumentExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.parse(encode("2023-03-01T12:30:15,id")));
+    }
+
+    @Test
+    void parse_whenTimestampIsInvalid_thenIllegalArgumentExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.parse(encode("yesterday,7")));
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -37,11 +37,12 @@ class ItemRequestServiceIntegrationTest {
 
     @Test
     void createItemRequest_whenUserFound_thenShouldSaveItemRequest() {
-        User user = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        User user = new User(null, "Jenevieve", "cannon_leamon786@hearings.jwr");
         ItemRequestDtoOfRequest itemRequestDto = new ItemRequestDtoOfRequest("need white keyboard");
         userRepository.save(user);
 
-        itemRequestService.createItemRequest(itemRequestDto, user.getId());
+        ItemRequestDtoOfResponse createdItemRequest =
+                itemRequestService.createItemRequest(itemRequestDto, user.getId());
 
         TypedQuery<ItemRequest> query =
                 entityManager.createQuery("SELECT i FROM ItemRequest i WHERE i.description = :description",
@@ -49,15 +50,15 @@ class ItemRequestServiceIntegrationTest {
         ItemRequest itemRequestAfterSave =
                 query.setParameter("description", itemRequestDto.getDescription()).getSingleResult();
 
-        assertThat(itemRequestAfterSave.getId(), equalTo(1L));
+        assertThat(itemRequestAfterSave.getId(), equalTo(createdItemRequest.getId()));
         assertThat(itemRequestAfterSave.getDescription(), equalTo(itemRequestAfterSave.getDescription()));
     }
 
     @Test
     void getAllItemRequests_whenUserFound_thenReturnItemRequestsCollection() {
-        User applicant = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
-        User owner = new User(2L, "Tashiba", "demetris_patchtgc@lodging.hox");
-        User user = new User(3L, "Betsie", "janaye_conditze7@devel.oi");
+        User applicant = new User(null, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        User owner = new User(null, "Tashiba", "demetris_patchtgc@lodging.hox");
+        User user = new User(null, "Betsie", "janaye_conditze7@devel.oi");
         ItemRequestDtoOfRequest itemRequestDto = new ItemRequestDtoOfRequest("need white or black keyboard");
         ItemRequestDtoOfRequest itemRequestDto1 = new ItemRequestDtoOfRequest("need lambo");
         userRepository.saveAll(List.of(applicant, owner, user));
@@ -74,11 +75,11 @@ class ItemRequestServiceIntegrationTest {
                 queryForEachItemRequest.setParameter(
                         "description", itemRequestDto1.getDescription()).getSingleResult();
 
-        Item item = new Item(1L, "white keyboard", "white keyboard description",
+        Item item = new Item(null, "white keyboard", "white keyboard description",
                 true, owner, itemRequestAfterSave);
-        Item item1 = new Item(2L, "black keyboard", "black keyboard description",
+        Item item1 = new Item(null, "black keyboard", "black keyboard description",
                 true, owner, itemRequestAfterSave);
-        Item item2 = new Item(3L, "lambo", "countach", true, owner, itemRequestAfterSave1);
+        Item item2 = new Item(null, "lambo", "countach", true, owner, itemRequestAfterSave1);
         itemRepository.saveAll(List.of(item, item1, item2));
 
         List<ItemRequestDtoOfResponse> returnedItemRequests =
@@ -5,10 +5,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOfResponse;
@@ -84,7 +85,8 @@ class ItemRequestServiceTest {
                 true, owner, itemRequest);
         Item item2 = new Item(3L, "lambo", "countach", true, owner, itemRequest1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(applicant));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(applicant);
         when(itemRequestRepository.findByApplicantOrderByCreatedDesc(applicant))
                 .thenReturn(List.of(itemRequest, itemRequest1));
         when(itemRepository.findByItemRequestIn(List.of(itemRequest, itemRequest1)))
@@ -122,7 +124,7 @@ class ItemRequestServiceTest {
     void getAllItemRequestsOfApplicant_whenUserNotFound_thenNotFoundExceptionThrown() {
         User applicant = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
 
-        when(userRepository.findById(applicant.getId())).thenReturn(Optional.empty());
+        when(userRepository.existsById(applicant.getId())).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 itemRequestService.getAllItemRequests(0, 0, applicant.getId(), true));
@@ -145,9 +147,10 @@ class ItemRequestServiceTest {
                 true, owner, itemRequest);
         Item item2 = new Item(3L, "lambo", "countach", true, owner, itemRequest1);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findByApplicantNotOrderByCreatedDesc(any(), any()))
-                .thenReturn(new PageImpl<>(List.of(itemRequest, itemRequest1)));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+        when(itemRequestRepository.findByApplicantNotOrderByCreatedDescIdDesc(any(), any()))
+                .thenReturn(List.of(itemRequest, itemRequest1));
         when(itemRepository.findByItemRequestIn(List.of(itemRequest, itemRequest1)))
                 .thenReturn(List.of(item, item1, item2));
 
@@ -177,12 +180,44 @@ class ItemRequestServiceTest {
     void getAllItemRequests_whenUserNotFound_thenNotFoundExceptionThrown() {
         User user = new User(3L, "Betsie", "janaye_conditze7@devel.oi");
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        when(userRepository.existsById(user.getId())).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 itemRequestService.getAllItemRequests(0, 2, user.getId(), false));
     }
 
+    @Test
+    void getAllItemRequestsAfter_whenUserFound_thenReturnItemRequestsAfterCursor() {
+        User applicant = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
+        User owner = new User(2L, "Tashiba", "demetris_patchtgc@lodging.hox");
+        User user = new User(3L, "Betsie", "janaye_conditze7@devel.oi");
+        ItemRequest itemRequest = new ItemRequest(1L, "need lambo", LocalDateTime.now().minusDays(1), applicant);
+        Item item = new Item(1L, "lambo", "countach", true, owner, itemRequest);
+        KeysetCursor after = new KeysetCursor(LocalDateTime.now(), 2L);
+
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(itemRequestRepository.findByApplicantNotAfter(user, after.getTimestamp(), after.getId(),
+                PageRequest.of(0, 2)))
+                .thenReturn(List.of(itemRequest));
+        when(itemRepository.findByItemRequestIn(List.of(itemRequest))).thenReturn(List.of(item));
+
+        List<ItemRequestDtoOfResponse> itemRequests =
+                new ArrayList<>(itemRequestService.getAllItemRequestsAfter(after, 2, user.getId()));
+
+        assertThat(itemRequests.size(), equalTo(1));
+        assertThat(itemRequests.get(0).getId(), equalTo(itemRequest.getId()));
+        assertThat(itemRequests.get(0).getItems().get(0).getId(), equalTo(item.getId()));
+    }
+
+    @Test
+    void getAllItemRequestsAfter_whenUserNotFound_thenNotFoundExceptionThrown() {
+        when(userRepository.existsById(3L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () ->
+                itemRequestService.getAllItemRequestsAfter(new KeysetCursor(LocalDateTime.now(), 2L), 2, 3L));
+    }
+
     @Test
     void getItemRequestById_whenItemRequestFoundAndUserFound_thenReturnItemRequestContainingItemsCollection() {
         User applicant = new User(1L, "Jenevieve", "cannon_leamon786@hearings.jwr");
@@ -196,7 +231,7 @@ class ItemRequestServiceTest {
                 true, owner, itemRequest);
 
         when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.of(itemRequest));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(user.getId())).thenReturn(true);
         when(itemRepository.findByItemRequestIn(List.of(itemRequest))).thenReturn(List.of(item, item1));
 
         ItemRequestDtoOfResponse itemRequestDtoOfResponse =
@@ -211,6 +246,7 @@ class ItemRequestServiceTest {
         assertThat(itemRequestDtoOfResponse.getItems().get(1).getRequestId(), equalTo(item1.getItemRequest().getId()));
         assertThat(itemRequestDtoOfResponse.getItems().get(0).getDescription(), equalTo(item.getDescription()));
         assertThat(itemRequestDtoOfResponse.getItems().get(1).getDescription(), equalTo(item1.getDescription()));
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -236,7 +272,7 @@ class ItemRequestServiceTest {
                 new ItemRequest(1L, itemRequestDto.getDescription(), LocalDateTime.now(), applicant);
 
         when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.of(itemRequest));
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        when(userRepository.existsById(user.getId())).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 itemRequestService.getItemRequestById(itemRequest.getId(), user.getId()));
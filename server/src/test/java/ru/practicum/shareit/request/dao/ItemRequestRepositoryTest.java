@@ -6,7 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
@@ -15,6 +15,7 @@ import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dao.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -29,6 +30,7 @@ import static org.hamcrest.Matchers.equalTo;
 class ItemRequestRepositoryTest {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final TestEntityManager testEntityManager;
     private PageRequest pageRequest;
     private User applicant1;
     private User applicant2;
@@ -62,11 +64,11 @@ class ItemRequestRepositoryTest {
     void idGenerationByDbForItemRequestEntity() {
         Supplier<NotFoundException> exception = () -> new NotFoundException("Failure of id generation test.");
 
-        ItemRequest foundItemRequest1 = itemRequestRepository.findById(1L).orElseThrow(exception);
-        ItemRequest foundItemRequest2 = itemRequestRepository.findById(2L).orElseThrow(exception);
-        ItemRequest foundItemRequest3 = itemRequestRepository.findById(3L).orElseThrow(exception);
-        ItemRequest foundItemRequest4 = itemRequestRepository.findById(4L).orElseThrow(exception);
-        ItemRequest foundItemRequest5 = itemRequestRepository.findById(5L).orElseThrow(exception);
+        ItemRequest foundItemRequest1 = itemRequestRepository.findById(itemRequest1.getId()).orElseThrow(exception);
+        ItemRequest foundItemRequest2 = itemRequestRepository.findById(itemRequest1.getId() + 1).orElseThrow(exception);
+        ItemRequest foundItemRequest3 = itemRequestRepository.findById(itemRequest1.getId() + 2).orElseThrow(exception);
+        ItemRequest foundItemRequest4 = itemRequestRepository.findById(itemRequest1.getId() + 3).orElseThrow(exception);
+        ItemRequest foundItemRequest5 = itemRequestRepository.findById(itemRequest1.getId() + 4).orElseThrow(exception);
 
         assertThat(foundItemRequest1, equalTo(itemRequest1));
         assertThat(foundItemRequest2, equalTo(itemRequest2));
@@ -85,23 +87,54 @@ class ItemRequestRepositoryTest {
     }
 
     @Test
-    void findByApplicantNotOrderByCreatedDesc() {
+    void findByApplicantNotOrderByCreatedDescIdDesc() {
         pageRequest = PageRequest.of(0, 2);
-        Page<ItemRequest> foundItemRequests =
-                itemRequestRepository.findByApplicantNotOrderByCreatedDesc(applicant1, pageRequest);
+        List<ItemRequest> foundItemRequests =
+                itemRequestRepository.findByApplicantNotOrderByCreatedDescIdDesc(applicant1, pageRequest);
 
-        assertThat(foundItemRequests.getTotalElements(), equalTo(4L));
-        assertThat(foundItemRequests.getTotalPages(), equalTo(2));
-        assertThat(foundItemRequests.getContent().get(0), equalTo(itemRequest5));
-        assertThat(foundItemRequests.getContent().get(1), equalTo(itemRequest4));
+        assertThat(foundItemRequests.size(), equalTo(2));
+        assertThat(foundItemRequests.get(0), equalTo(itemRequest5));
+        assertThat(foundItemRequests.get(1), equalTo(itemRequest4));
 
 
         pageRequest = PageRequest.of(1, 2);
-        foundItemRequests = itemRequestRepository.findByApplicantNotOrderByCreatedDesc(applicant1, pageRequest);
+        foundItemRequests = itemRequestRepository.findByApplicantNotOrderByCreatedDescIdDesc(applicant1, pageRequest);
+
+        assertThat(foundItemRequests.size(), equalTo(2));
+        assertThat(foundItemRequests.get(0), equalTo(itemRequest3));
+        assertThat(foundItemRequests.get(1), equalTo(itemRequest2));
+    }
+
+    @Test
+    void findByApplicantNotAfter() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        LocalDateTime storedCreated = testEntityManager.find(ItemRequest.class, itemRequest4.getId()).getCreated();
+
+        pageRequest = PageRequest.of(0, 2);
+        List<ItemRequest> foundItemRequests = itemRequestRepository.findByApplicantNotAfter(applicant1,
+                storedCreated, itemRequest4.getId(), pageRequest);
 
-        assertThat(foundItemRequests.getTotalElements(), equalTo(4L));
-        assertThat(foundItemRequests.getTotalPages(), equalTo(2));
-        assertThat(foundItemRequests.getContent().get(0), equalTo(itemRequest3));
-        assertThat(foundItemRequests.getContent().get(1), equalTo(itemRequest2));
+        assertThat(foundItemRequests.size(), equalTo(2));
+        assertThat(foundItemRequests.get(0), equalTo(itemRequest3));
+        assertThat(foundItemRequests.get(1), equalTo(itemRequest2));
+    }
+
+    @Test
+    void findByApplicantNotOrderByCreatedDescIdDesc_whenCreatedEqual_thenOffsetAndKeysetPagesAgree() {
+        LocalDateTime sameCreated = LocalDateTime.now().withNano(0);
+        testEntityManager.flush();
+        testEntityManager.getEntityManager().createQuery("update ItemRequest r set r.created = :created")
+                .setParameter("created", sameCreated)
+                .executeUpdate();
+        testEntityManager.clear();
+
+        List<ItemRequest> offsetPage =
+                itemRequestRepository.findByApplicantNotOrderByCreatedDescIdDesc(applicant1, PageRequest.of(1, 2));
+        List<ItemRequest> keysetPage = itemRequestRepository.findByApplicantNotAfter(applicant1, sameCreated,
+                itemRequest4.getId(), PageRequest.of(0, 2));
+
+        assertThat(offsetPage, equalTo(List.of(itemRequest3, itemRequest2)));
+        assertThat(keysetPage, equalTo(offsetPage));
     }
-}
\ No newline at end of file
+}
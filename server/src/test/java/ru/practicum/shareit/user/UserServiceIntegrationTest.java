@@ -18,6 +18,7 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -33,8 +34,8 @@ class UserServiceIntegrationTest {
     void getUsersList_whenInvoked_thenReturnUsersCollection() {
         UserDto user1 = new UserDto(null, "Derius", "dewayne_remingtonjqs@diamonds.rf");
         UserDto user2 = new UserDto(null, "Hope", "claudia_craigfp8@investigations.hsa");
-        userService.createUser(user1);
-        userService.createUser(user2);
+        UserDto user1AfterSave = userService.createUser(user1);
+        UserDto user2AfterSave = userService.createUser(user2);
 
         List<UserDto> returnedUsers = new ArrayList<>(userService.getUsersList());
 
@@ -42,8 +43,10 @@ class UserServiceIntegrationTest {
         List<User> usersFromDb = query.getResultList();
 
         assertThat(2, allOf(equalTo(returnedUsers.size()), equalTo(usersFromDb.size())));
-        assertThat(1L, allOf(equalTo(returnedUsers.get(0).getId()), equalTo(usersFromDb.get(0).getId())));
-        assertThat(2L, allOf(equalTo(returnedUsers.get(1).getId()), equalTo(usersFromDb.get(1).getId())));
+        assertThat(user1AfterSave.getId(),
+                allOf(equalTo(returnedUsers.get(0).getId()), equalTo(usersFromDb.get(0).getId())));
+        assertThat(user2AfterSave.getId(),
+                allOf(equalTo(returnedUsers.get(1).getId()), equalTo(usersFromDb.get(1).getId())));
         assertThat(user1.getName(),
                 allOf(equalTo(returnedUsers.get(0).getName()), equalTo(usersFromDb.get(0).getName())));
         assertThat(user2.getName(),
@@ -60,7 +63,7 @@ class UserServiceIntegrationTest {
 
         UserDto oldUserAfterSave = userService.createUser(oldUser);
 
-        assertThat(oldUserAfterSave.getId(), equalTo(1L));
+        assertThat(oldUserAfterSave.getId(), notNullValue());
         assertThat(oldUserAfterSave.getName(), equalTo(oldUser.getName()));
         assertThat(oldUserAfterSave.getEmail(), equalTo(oldUser.getEmail()));
 
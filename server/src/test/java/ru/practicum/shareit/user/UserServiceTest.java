@@ -8,10 +8,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.AlreadyExistException;
 import ru.practicum.shareit.exception.NoBodyInRequestException;
 import ru.practicum.shareit.exception.NoIdInRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -33,6 +36,12 @@ class UserServiceTest {
     private UserService userService;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
     @Captor
     private ArgumentCaptor<User> userArgumentCaptor;
 
@@ -188,10 +197,14 @@ class UserServiceTest {
     void removeUser_whenUserFound_thenDeleteUser() {
         User user = new User(1L, "Derius", "dewayne_remingtonjqs@diamonds.rf");
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingIntervalIndex.isEnabled()).thenReturn(true);
+        when(itemRepository.findIdsByOwnerId(user.getId())).thenReturn(List.of(1L, 2L));
 
         userService.removeUser(user.getId());
 
         verify(userRepository).deleteById(anyLong());
+        verify(bookingIntervalIndex).removeBookingsOfUser(user.getId(), List.of(1L, 2L));
+        verify(itemSearchIndex).removeItemsOfOwner(user.getId());
     }
 
     @Test
@@ -1,40 +1,9 @@
-DROP TABLE IF EXISTS comments, bookings, items, item_requests, users;
+SET REFERENTIAL_INTEGRITY FALSE;
 
-CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
-  name VARCHAR(50) NOT NULL,
-  email VARCHAR(512) NOT NULL UNIQUE
-);
+TRUNCATE TABLE comments RESTART IDENTITY;
+TRUNCATE TABLE bookings RESTART IDENTITY;
+TRUNCATE TABLE items RESTART IDENTITY;
+TRUNCATE TABLE item_requests RESTART IDENTITY;
+TRUNCATE TABLE users RESTART IDENTITY;
 
-CREATE TABLE IF NOT EXISTS item_requests (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
-  description TEXT NOT NULL,
-  applicant_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE ON UPDATE CASCADE,
-  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
-
-CREATE TABLE IF NOT EXISTS items (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
-  name VARCHAR(30) NOT NULL,
-  description VARCHAR(250) NOT NULL,
-  is_available BOOL NOT NULL,
-  owner_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE ON UPDATE CASCADE,
-  request_id BIGINT REFERENCES item_requests(id) ON DELETE CASCADE ON UPDATE CASCADE
-);
-
-CREATE TABLE IF NOT EXISTS bookings (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
-  start_date TIMESTAMP NOT NULL,
-  end_date TIMESTAMP NOT NULL,
-  item_id BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE ON UPDATE CASCADE,
-  booker_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE ON UPDATE CASCADE,
-  status_id INTEGER NOT NULL
-);
-
-CREATE TABLE IF NOT EXISTS comments (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
-  text TEXT NOT NULL,
-  item_id BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE ON UPDATE CASCADE,
-  author_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE ON UPDATE CASCADE,
-  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
\ No newline at end of file
+SET REFERENTIAL_INTEGRITY TRUE;
\ No newline at end of file